@@ -0,0 +1,36 @@
+package pokemon.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Pokreće sve benchmarke iz ovog paketa, sa GC profilerom (ekvivalent opcije {@code -prof gc}), koji
+ * uz vrijeme mjeri i alokacije po operaciji (gc.alloc.rate.norm). Rezultati se, osim na konzolu,
+ * zapisuju i u JSON datoteku, kako bi se rezultati različitih verzija mogli uspoređivati.
+ * <p>
+ * Pokretanje: {@code BenchmarkRunner [JSON datoteka] [regex benchmarka]}. Isto se može postići i
+ * standardnim JMH pokretanjem: {@code java -jar benchmarks.jar -prof gc -rf json -rff
+ * jmh-result.json}.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    String resultFile = args.length > 0 ? args[0] : "jmh-result.json";
+    String include = args.length > 1 ? args[1] : BenchmarkRunner.class.getPackage().getName() + ".*";
+
+    Options options = new OptionsBuilder()
+        .include(include)
+        .addProfiler(GCProfiler.class)
+        .resultFormat(ResultFormatType.JSON)
+        .result(resultFile)
+        .build();
+    new Runner(options).run();
+  }
+}
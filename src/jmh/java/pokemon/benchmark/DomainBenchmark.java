@@ -0,0 +1,104 @@
+package pokemon.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pokemon.domain.BattleEvent;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.BattleUtils;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+import pokemon.domain.moves.Move;
+import pokemon.domain.moves.Moves;
+
+/**
+ * Benchmarki vještina i pomoćnih metoda borbe, tj. koda koji se izvršava u svakom potezu simulacija
+ * (MatchupSimulator, TournamentRunner, AutoBattleRunner). HP se prije svake upotrebe vještine
+ * vraća na maksimum, kako bi svaki poziv prošao istim putem.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainBenchmark {
+
+  private static final PokemonType[] TYPES = PokemonType.values();
+
+  private final Move ember = Moves.EMBER.getMove();
+  private final Move takeDown = Moves.TAKE_DOWN.getMove();
+  private final BattleEvent event = new BattleEvent();
+  private Pokemon attacker;
+  private Pokemon target;
+  private BattleRandom random;
+
+  @Setup
+  public void setUp() {
+    attacker = pokemon("Charmander", PokemonType.FIRE, 39);
+    target = pokemon("Bulbasaur", PokemonType.GRASS, 45);
+    random = new BattleRandom(42);
+  }
+
+  private static Pokemon pokemon(String name, PokemonType type, int hp) {
+    return new Pokemon(name, hp, hp, type, new PokemonSpecies(0, name, type, hp, ""),
+        new ArrayList<>());
+  }
+
+  /**
+   * DamageMove (Ember), koji učinak bilježi u višestruko korišteni BattleEvent.
+   */
+  @Benchmark
+  public BattleEvent damageMoveUse() {
+    target.setHealth(target.getMaxHealth());
+    ember.use(attacker, target, event);
+    return event;
+  }
+
+  /**
+   * DamageMove (Ember), uključujući kreiranje poruke za log borbe (kao u BattleGUI).
+   */
+  @Benchmark
+  public String damageMoveUseMessage() {
+    target.setHealth(target.getMaxHealth());
+    return ember.use(attacker, target);
+  }
+
+  @Benchmark
+  public BattleEvent takeDownUse() {
+    attacker.setHealth(attacker.getMaxHealth());
+    target.setHealth(target.getMaxHealth());
+    takeDown.use(attacker, target, event);
+    return event;
+  }
+
+  /**
+   * Svi parovi tipova; rezultat je po paru.
+   */
+  @Benchmark
+  @OperationsPerInvocation(18 * 18)
+  public void isSuperEffective(Blackhole blackhole) {
+    for (PokemonType attackType : TYPES) {
+      for (PokemonType targetType : TYPES) {
+        blackhole.consume(attackType.isSuperEffective(targetType));
+      }
+    }
+  }
+
+  @Benchmark
+  public ArrayList<Move> generateMoves() {
+    return BattleUtils.generateMoves(random);
+  }
+}
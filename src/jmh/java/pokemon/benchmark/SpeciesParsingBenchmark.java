@@ -0,0 +1,123 @@
+package pokemon.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+import pokemon.web.WebSpeciesLoader;
+
+/**
+ * Benchmark parsiranja PokeDex stranice ({@link WebSpeciesLoader#getPokemonSpecies()}), iz HTML-a
+ * u memoriji, bez mreže. Ako je zadano svojstvo {@value #FIXTURE_PROPERTY} (putanja do spremljene
+ * stranice https://pokemondb.net/pokedex/all), parsira se ta stranica. U suprotnom se kreira
+ * stranica iste strukture, sa zadatim brojem redova; stvarna stranica ima oko 1200 redova.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpeciesParsingBenchmark {
+
+  static final String FIXTURE_PROPERTY = "pokemon.benchmark.pokedex";
+  private static final PokemonType[] TYPES = PokemonType.values();
+
+  @Param({"1200"})
+  public int rows;
+
+  private String html;
+  private WebSpeciesLoader loader;
+
+  @Setup
+  public void setUp() throws IOException {
+    String fixture = System.getProperty(FIXTURE_PROPERTY);
+    html = fixture != null
+        ? new String(Files.readAllBytes(Paths.get(fixture)), StandardCharsets.UTF_8)
+        : generatePokedex(rows);
+    loader = new WebSpeciesLoader(new WebSpeciesLoader.DocumentSource() {
+      @Override
+      public Document getDocument() {
+        return Jsoup.parse(html);
+      }
+
+      @Override
+      public Reader openReader() {
+        return new StringReader(html);
+      }
+    });
+  }
+
+  @Benchmark
+  public TreeMap<Integer, PokemonSpecies> getPokemonSpecies() {
+    return loader.getPokemonSpecies();
+  }
+
+  /**
+   * Kreira PokeDex stranicu sa datim brojem redova. Kao i na stvarnoj stranici, dio vrsta ima dva
+   * tipa, a dio ima i dodatne oblike (npr. Mega), koji dijele broj sa osnovnim oblikom.
+   */
+  static String generatePokedex(int rows) {
+    StringBuilder sb = new StringBuilder(rows * 700);
+    sb.append("<!DOCTYPE html>\n<html>\n<head><title>Pokédex</title>\n")
+        .append("<script>if (a < b) { document.write('<table>'); }</script>\n</head>\n")
+        .append("<body>\n<main>\n  <div>\n    <table id=\"pokedex\">\n      <thead>\n")
+        .append("      <tr><th>#</th><th>Name</th><th>Type</th><th>Total</th><th>HP</th>")
+        .append("<th>Attack</th><th>Defense</th></tr>\n      </thead>\n      <tbody>\n");
+    int number = 0;
+    for (int row = 0; row < rows; row++) {
+      boolean alternateForm = row % 8 == 7;
+      if (!alternateForm) {
+        number++;
+      }
+      String name = "Species" + number;
+      PokemonType type = TYPES[number % TYPES.length];
+      PokemonType secondaryType = number % 3 == 0 ? TYPES[(number * 7 + 1) % TYPES.length] : null;
+      sb.append("      <tr>\n        <td>\n\t\t\t\t<span>\n          <span data-src=\"")
+          .append("https://img.pokemondb.net/sprites/sword-shield/icon/")
+          .append(name.toLowerCase(Locale.ROOT)).append(alternateForm ? "-mega" : "")
+          .append(".png\"></span>\n\t\t\t\t</span>\n          <span>\n\t\t\t\t  ")
+          .append(String.format("%03d", number))
+          .append("\n\t\t\t\t</span>\n        </td>\n        <td>\n          <a>")
+          .append(name).append("</a>\n");
+      if (alternateForm) {
+        sb.append("          <small>Mega ").append(name).append("</small>\n");
+      }
+      sb.append("        </td>\n        <td>\n          <a>").append(displayName(type)).append("</a>\n");
+      if (secondaryType != null && secondaryType != type) {
+        sb.append("          <a>").append(displayName(secondaryType)).append("</a>\n");
+      }
+      sb.append("        </td>\n        <td>\n          ").append(300 + number % 300)
+          .append("\n        </td>\n        <td>\n          ").append(20 + number % 130)
+          .append("\n        </td>\n        <td>").append(40 + number % 90)
+          .append("</td>\n        <td>").append(35 + number % 95).append("</td>\n      </tr>\n");
+    }
+    sb.append("      </tbody>\n    </table>\n  </div>\n</main>\n</body>\n</html>\n");
+    return sb.toString();
+  }
+
+  private static String displayName(PokemonType type) {
+    String name = type.name();
+    return name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT);
+  }
+}
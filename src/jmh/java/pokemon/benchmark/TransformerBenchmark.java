@@ -0,0 +1,70 @@
+package pokemon.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pokemon.datastore.PokemonData;
+import pokemon.datastore.PokemonMoveData;
+import pokemon.datastore.PokemonTransformer;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.BattleUtils;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+import pokemon.domain.moves.Move;
+
+/**
+ * Benchmarki konverzija PokemonData &harr; Pokemon, koje se izvršavaju za svakog Pokemona kod
+ * prikaza liste (PagedPokemonList) i kod masovnih borbi (AutoBattleRunner). Databaza nije
+ * potrebna; entitetski objekti se kreiraju direktno.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformerBenchmark {
+
+  private PokemonTransformer pokemonTransformer;
+  private PokemonData pokemonData;
+  private Pokemon pokemon;
+
+  @Setup
+  public void setUp() {
+    PokemonSpecies species = new PokemonSpecies(25, "Pikachu", PokemonType.ELECTRIC, 35,
+        "https://img.pokemondb.net/sprites/sword-shield/icon/pikachu.png");
+    TreeMap<Integer, PokemonSpecies> speciesMap = new TreeMap<>();
+    speciesMap.put(species.getId(), species);
+    pokemonTransformer = new PokemonTransformer(() -> speciesMap);
+
+    ArrayList<Move> moves = BattleUtils.generateMoves(new BattleRandom(42));
+    pokemon = new Pokemon(1, "Sparky", 30, 35, species.getType(), species, moves);
+    List<PokemonMoveData> moveDataList = new ArrayList<>();
+    for (Move move : moves) {
+      moveDataList.add(new PokemonMoveData(1, move.getName()));
+    }
+    pokemonData = new PokemonData(1, "Sparky", 30, 35, species.getId(), moveDataList);
+  }
+
+  @Benchmark
+  public Pokemon convertToPokemon() {
+    return pokemonTransformer.convert(pokemonData);
+  }
+
+  @Benchmark
+  public PokemonData convertToPokemonData() {
+    return pokemonTransformer.convert(pokemon, true);
+  }
+}
@@ -0,0 +1,146 @@
+package pokemon.datastore;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <b>AsyncPokemonDataStore</b> izvršava operacije {@link PokemonDataStore} i {@link WinStatsStore}
+ * klasa van pozivajućeg threada (npr. JavaFX threada), te vraća CompletableFuture.
+ * <p>
+ * Sve instance dijele isti pool od {@value #MAX_IN_FLIGHT} threada, usklađen sa
+ * hibernate.connection.pool_size: istovremeno se izvršava najviše onoliko operacija koliko ima
+ * konekcija, a ostale čekaju u redu, umjesto da čekaju na konekciju (i da im istekne vrijeme).
+ * <p>
+ * Svaki vraćeni CompletableFuture se završava (uspješno ili iznimkom) na callbackExecutor-u, npr.
+ * {@code Platform::runLater}, pa akcije dodane na njega smiju mijenjati GUI. Iznimka kojom se
+ * završava je originalna iznimka operacije (npr. HibernateException), a ne CompletionException.
+ */
+public class AsyncPokemonDataStore {
+
+  // Usklađeno sa hibernate.connection.pool_size.
+  static final int MAX_IN_FLIGHT = 3;
+
+  private static final ExecutorService DATABASE_EXECUTOR;
+
+  static {
+    AtomicInteger threadCount = new AtomicInteger();
+    DATABASE_EXECUTOR = Executors.newFixedThreadPool(MAX_IN_FLIGHT, runnable -> {
+      Thread thread = new Thread(runnable, "database-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private final PokemonDataStore pokemonDataStore;
+  private final WinStatsStore winStatsStore;
+  private final Executor callbackExecutor;
+
+  /**
+   * @param pokemonDataStore store čije se operacije izvršavaju
+   * @param winStatsStore    store pobjeda; može biti null ako se {@link #getWinCount()} ne koristi
+   * @param callbackExecutor executor na kojem se završavaju vraćeni CompletableFuture-i
+   */
+  public AsyncPokemonDataStore(PokemonDataStore pokemonDataStore, WinStatsStore winStatsStore,
+      Executor callbackExecutor) {
+    this.pokemonDataStore = pokemonDataStore;
+    this.winStatsStore = winStatsStore;
+    this.callbackExecutor = callbackExecutor;
+  }
+
+  public PokemonDataStore getPokemonDataStore() {
+    return pokemonDataStore;
+  }
+
+  /**
+   * @see PokemonDataStore#countPokemon()
+   */
+  public CompletableFuture<Integer> countPokemon() {
+    return submit(pokemonDataStore::countPokemon);
+  }
+
+  /**
+   * @see PokemonDataStore#getPokemonData(int)
+   */
+  public CompletableFuture<PokemonData> getPokemonData(int id) {
+    return submit(() -> pokemonDataStore.getPokemonData(id));
+  }
+
+  /**
+   * @see PokemonDataStore#getPokemonDataPage(int, int)
+   */
+  public CompletableFuture<List<PokemonData>> getPokemonDataPage(int lastId, int pageSize) {
+    return submit(() -> pokemonDataStore.getPokemonDataPage(lastId, pageSize));
+  }
+
+  /**
+   * @see PokemonDataStore#getPokemonDataPage(int, int, int)
+   */
+  public CompletableFuture<List<PokemonData>> getPokemonDataPage(int lastId, int offset, int pageSize) {
+    return submit(() -> pokemonDataStore.getPokemonDataPage(lastId, offset, pageSize));
+  }
+
+  /**
+   * @see PokemonDataStore#addWithMoves(PokemonData, List)
+   */
+  public CompletableFuture<Integer> addWithMoves(PokemonData pokemon, List<PokemonMoveData> moves) {
+    return submit(() -> pokemonDataStore.addWithMoves(pokemon, moves));
+  }
+
+  /**
+   * @see PokemonDataStore#update(PokemonData)
+   */
+  public CompletableFuture<Void> update(PokemonData pokemon) {
+    return run(() -> pokemonDataStore.update(pokemon));
+  }
+
+  /**
+   * @see PokemonDataStore#heal(int)
+   */
+  public CompletableFuture<Void> heal(int id) {
+    return run(() -> pokemonDataStore.heal(id));
+  }
+
+  /**
+   * @see PokemonDataStore#release(int)
+   */
+  public CompletableFuture<Void> release(int pokemonId) {
+    return run(() -> pokemonDataStore.release(pokemonId));
+  }
+
+  /**
+   * @see WinStatsStore#getWinCount()
+   */
+  public CompletableFuture<Integer> getWinCount() {
+    return submit(winStatsStore::getWinCount);
+  }
+
+  private CompletableFuture<Void> run(Runnable action) {
+    return submit(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> action) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    // Rezultat se prosljeđuje ručno, jer bi npr. thenApplyAsync iznimku proslijedio bez
+    // callbackExecutor-a, tj. na threadu databaze.
+    CompletableFuture.supplyAsync(action, DATABASE_EXECUTOR).whenComplete((value, actionEx) ->
+        callbackExecutor.execute(() -> {
+          if (actionEx == null) {
+            result.complete(value);
+          } else if (actionEx instanceof CompletionException && actionEx.getCause() != null) {
+            result.completeExceptionally(actionEx.getCause());
+          } else {
+            result.completeExceptionally(actionEx);
+          }
+        }));
+    return result;
+  }
+}
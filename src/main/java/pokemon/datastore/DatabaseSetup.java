@@ -0,0 +1,28 @@
+package pokemon.datastore;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Konfiguracija Hibernate databaze, zajednička za GUI i pokretanja bez GUI-ja. Postavke konekcije
+ * se čitaju iz hibernate.properties.
+ */
+public final class DatabaseSetup {
+
+  private DatabaseSetup() {
+  }
+
+  /**
+   * Kreira SessionFactory sa svim entitetskim klasama projekta.
+   *
+   * @return novi SessionFactory; zatvara ga pozivatelj
+   * @throws org.hibernate.HibernateException ako konfiguracija ili konekcija ne uspije
+   */
+  public static SessionFactory buildSessionFactory() {
+    Configuration config = new Configuration();
+    config.addAnnotatedClass(PokemonData.class);
+    config.addAnnotatedClass(PokemonMoveData.class);
+    config.addAnnotatedClass(StatsData.class);
+    return config.buildSessionFactory();
+  }
+}
@@ -0,0 +1,123 @@
+package pokemon.datastore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import pokemon.domain.Pokemon;
+
+/**
+ * <b>PokemonCache</b> je read-through cache Pokemon objekata, dobivenih konverzijom PokemonData
+ * objekata (vidjeti {@link PokemonTransformer#convert(PokemonData)}), po id-ju Pokemona. Kod
+ * ponovnog učitavanja liste Pokemona ponovno se konvertiraju samo Pokemoni koji su se u
+ * međuvremenu promijenili.
+ * <p>
+ * Unose poništava {@link PokemonDataStore}, kod svake izmjene Pokemona ({@link #invalidate(int)}).
+ * Kako poništenje ne bi "pregazio" čitanje koje je počelo prije izmjene, a završilo nakon nje,
+ * koriste se vremenske oznake: čitatelj prije upita uzima oznaku ({@link #stamp()}), a konvertirani
+ * Pokemon se sprema samo ako od te oznake nije poništen.
+ * <p>
+ * Vraćeni Pokemoni se dijele između svih korisnika cachea. Tko mijenja Pokemona bez
+ * PokemonDataStore-a (npr. tijekom borbe), treba ga prvo ukloniti iz cachea.
+ */
+public class PokemonCache {
+
+  public static final int DEFAULT_CAPACITY = 2000;
+
+  private final int capacity;
+  // Obje mape su u access-order poretku, pa se kod prekoračenja kapaciteta izbacuju najdavnije
+  // korišteni unosi.
+  private final LinkedHashMap<Integer, Pokemon> entries;
+  private final LinkedHashMap<Integer, Long> invalidatedAt;
+  private long clock;
+  // Najkasnija oznaka poništenja izbačenog iz invalidatedAt; za id-jeve bez zapisa o poništenju
+  // pretpostavlja se da su poništeni u tom trenutku.
+  private long evictedInvalidation;
+
+  public PokemonCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public PokemonCache(int capacity) {
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.invalidatedAt = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Vraća trenutnu vremensku oznaku cachea. Uzima se prije upita čiji će se rezultati predati
+   * metodi {@link #get(PokemonData, long, Function)}.
+   *
+   * @return vremenska oznaka
+   */
+  public synchronized long stamp() {
+    return clock;
+  }
+
+  /**
+   * Vraća Pokemona sa id-jem datog PokemonData objekta iz cachea, ili ga konvertira i sprema u
+   * cache, ako od date oznake nije poništen.
+   *
+   * @param pokemonData PokemonData, pročitan nakon uzimanja oznake
+   * @param stamp       oznaka uzeta prije čitanja
+   * @param converter   konverzija PokemonData &rarr; Pokemon
+   * @return Pokemon objekat
+   */
+  public Pokemon get(PokemonData pokemonData, long stamp, Function<PokemonData, Pokemon> converter) {
+    int id = pokemonData.getId();
+    synchronized (this) {
+      Pokemon pokemon = entries.get(id);
+      if (pokemon != null) {
+        return pokemon;
+      }
+    }
+    // Konverzija se izvršava van locka.
+    Pokemon pokemon = converter.apply(pokemonData);
+    synchronized (this) {
+      Long invalidation = invalidatedAt.get(id);
+      long lastInvalidation = invalidation != null ? invalidation : evictedInvalidation;
+      if (lastInvalidation <= stamp) {
+        Pokemon cached = entries.putIfAbsent(id, pokemon);
+        if (cached != null) {
+          return cached;
+        }
+        if (entries.size() > capacity) {
+          removeEldest(entries);
+        }
+      }
+    }
+    return pokemon;
+  }
+
+  /**
+   * Uklanja Pokemona sa datim id-jem iz cachea. Čitanja sa oznakom starijom od ovog poziva ga
+   * više ne spremaju u cache.
+   *
+   * @param id id Pokemona
+   */
+  public synchronized void invalidate(int id) {
+    entries.remove(id);
+    invalidatedAt.put(id, ++clock);
+    if (invalidatedAt.size() > capacity) {
+      evictedInvalidation = Math.max(evictedInvalidation, removeEldest(invalidatedAt));
+    }
+  }
+
+  /**
+   * Uklanja sve Pokemone iz cachea, npr. nakon osvježavanja Pokemon vrsta.
+   */
+  public synchronized void invalidateAll() {
+    entries.clear();
+    invalidatedAt.clear();
+    evictedInvalidation = ++clock;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private static <V> V removeEldest(Map<Integer, V> map) {
+    Map.Entry<Integer, V> eldest = map.entrySet().iterator().next();
+    map.remove(eldest.getKey());
+    return eldest.getValue();
+  }
+}
@@ -1,6 +1,7 @@
 package pokemon.datastore;
 
 import java.util.List;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -11,6 +12,8 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * <b>PokemonData</b> predstavlja podatke onako kako su pohranjeni u databazi, u tablici Pokemon.
@@ -22,9 +25,13 @@ import javax.persistence.Table;
  * <li>maxHealth: maksimalni HP pokemona, po defaultu jednak health atributu njegove vrste</li>
  * <li>speciesNumber: broj vrste, identičan # na https://pokemondb.net/pokedex/all</li>
  * </ul>
+ * Entitet je označen za Hibernate second-level cache, koji je po defaultu isključen (vidjeti
+ * hibernate.properties).
  */
 @Entity
 @Table(name = "Pokemon", schema = "pokemon")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class PokemonData {
 
   @Id
@@ -44,9 +51,11 @@ public class PokemonData {
   @Column(name = "speciesNumber")
   private int speciesNumber;
 
-  // Automatski left join kako bi se dobile sve vještine nekog pojedinog Pokemona.
-  // FetchType.EAGER sprečava bacanje exceptiona koji se može javiti nakon klika na Play dugme unutar AdoptionGUI-ja.
-  @OneToMany(targetEntity = PokemonMoveData.class, cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+  // Vještine se učitavaju lijeno, pa operacije pisanja ne dohvaćaju vještine bez potrebe.
+  // Upiti za čitanje u PokemonDataStore-u dohvaćaju vještine putem JOIN FETCH, unutar istog
+  // upita, pa je lista dostupna i nakon zatvaranja Session-a (npr. nakon klika na Play dugme
+  // unutar AdoptionGUI-ja).
+  @OneToMany(targetEntity = PokemonMoveData.class, cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   @JoinColumn(name = "pokemonId", insertable = false, updatable = false, referencedColumnName = "id")
   private List<PokemonMoveData> movesList;
 
@@ -3,25 +3,96 @@ package pokemon.datastore;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.jpa.QueryHints;
 import org.hibernate.query.Query;
 
 import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * <b>PokemonDataStore</b> je klasa koja sadrži metode za dodavanje, brisanje i ažuriranje zapisa u
  * tablicama Pokemon i PokemonMove.
+ * <p>
+ * Svaka metoda koja dodaje, mijenja ili briše Pokemona, nakon uspješne transakcije uklanja tog
+ * Pokemona iz cachea konvertiranih Pokemona ({@link #getPokemonCache()}), te o promjeni obavještava
+ * sve registrirane {@link ChangeListener}-e. Prikazi Pokemona tako mogu ažurirati samo promijenjene
+ * Pokemone, umjesto ponovnog učitavanja svih.
  */
 public class PokemonDataStore {
 
+  // Vještine se umeću direktnim JDBC batchom: Hibernate ne batchira INSERT-e entiteta sa
+  // IDENTITY ključem, pa bi svaka vještina inače bila zaseban upit.
+  private static final String INSERT_MOVE_SQL =
+      "INSERT INTO pokemon.PokemonMove (pokemonId, move) VALUES (?, ?)";
+  private static final String UPDATE_HEALTH_SQL =
+      "UPDATE pokemon.Pokemon SET health = ? WHERE id = ?";
+  // Broj Pokemona nakon kojeg se kod masovnog dodavanja prazni Session (usklađeno sa
+  // hibernate.jdbc.batch_size).
+  private static final int FLUSH_INTERVAL = 20;
+
+  /**
+   * Vrsta promjene Pokemona.
+   */
+  public enum ChangeType {
+    ADDED, UPDATED, REMOVED
+  }
+
+  /**
+   * Prima obavijesti o promjenama Pokemona. Poziva se iz threada koji je izvršio promjenu (npr.
+   * threada {@link AsyncPokemonDataStore}-a), nakon uspješne transakcije.
+   */
+  public interface ChangeListener {
+
+    void pokemonChanged(ChangeType type, int pokemonId);
+  }
+
   private final SessionFactory factory;
+  private final PokemonCache pokemonCache = new PokemonCache();
+  private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
   public PokemonDataStore(SessionFactory factory) {
     this.factory = factory;
   }
 
+  /**
+   * @return cache Pokemona konvertiranih iz zapisa ovog store-a
+   */
+  public PokemonCache getPokemonCache() {
+    return pokemonCache;
+  }
+
+  public void addChangeListener(ChangeListener listener) {
+    changeListeners.add(listener);
+  }
+
+  public void removeChangeListener(ChangeListener listener) {
+    changeListeners.remove(listener);
+  }
+
+  /**
+   * Uklanja Pokemona iz cachea, te obavještava listenere o promjeni. Greška u listeneru ne
+   * poništava već izvršenu promjenu.
+   */
+  private void changed(ChangeType type, int pokemonId) {
+    pokemonCache.invalidate(pokemonId);
+    for (ChangeListener listener : changeListeners) {
+      try {
+        listener.pokemonChanged(type, pokemonId);
+      } catch (RuntimeException listenerEx) {
+        listenerEx.printStackTrace();
+      }
+    }
+  }
+
   // Privatne metode koje koriste funkcionalne interfejse. Koriste se u javnim
   // metodama radi smanjenja repetitivnosti koda.
 
@@ -57,14 +128,92 @@ public class PokemonDataStore {
    *   <li>maxhealth: maksimalni HP</li>
    *   <li>speciesNumber: ID Pokemon vrste kojoj dati Pokemon pripada</li>
    * </ul>
+   * Vještine svih Pokemona dohvaćaju se unutar istog upita (JOIN FETCH), umjesto zasebnog
+   * upita za svakog Pokemona.
    *
    * @return lista svih PokemonData objekata
    */
   public List<PokemonData> getPokemonData() {
-    return queryWithSession(session -> session.createQuery("FROM PokemonData").list());
+    return queryWithSession(session -> session
+        .createQuery("SELECT DISTINCT p FROM PokemonData p LEFT JOIN FETCH p.movesList ORDER BY p.id")
+        .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+        .list());
   }
 
 
+  /**
+   * Vraća jednu stranicu zapisa iz tablice Pokemon, poredanih po ID-u. Koristi keyset paginaciju
+   * (id &gt; :lastId ORDER BY id LIMIT n), pa je cijena upita ista za svaku stranicu, bez obzira
+   * na veličinu tablice.
+   * <p>
+   * Stranica se dohvaća u dva upita, bez obzira na broj Pokemona: prvi odabire id-jeve stranice,
+   * a drugi dohvaća te Pokemone zajedno sa vještinama (JOIN FETCH). LIMIT se ne može primijeniti
+   * direktno na JOIN FETCH upit, jer bi ga Hibernate primijenio tek u memoriji.
+   *
+   * @param lastId   id posljednjeg Pokemona prethodne stranice; 0 za prvu stranicu
+   * @param pageSize najveći broj zapisa na stranici
+   * @return lista PokemonData objekata, sa id-jevima većim od lastId
+   */
+  public List<PokemonData> getPokemonDataPage(int lastId, int pageSize) {
+    return getPokemonDataPage(lastId, 0, pageSize);
+  }
+
+  /**
+   * Radi isto što i {@link #getPokemonDataPage(int, int)}, ali preskače prvih offset zapisa sa
+   * id-jem većim od lastId. Time se jednim upitom dohvaća bilo koja stranica iza poznatog id-ja,
+   * bez dohvaćanja stranica između. Databaza preskočene zapise i dalje čita iz indeksa primarnog
+   * ključa, pa cijena upita raste sa offsetom, ali bez prijenosa i konvertiranja tih zapisa.
+   *
+   * @param lastId   id iza kojeg se zapisi broje
+   * @param offset   broj preskočenih zapisa
+   * @param pageSize najveći broj zapisa na stranici
+   * @return lista PokemonData objekata, sa id-jevima većim od lastId
+   */
+  public List<PokemonData> getPokemonDataPage(int lastId, int offset, int pageSize) {
+    return queryWithSession(session -> {
+      List<Integer> ids = session
+          .createQuery("SELECT p.id FROM PokemonData p WHERE p.id > :lastId ORDER BY p.id")
+          .setParameter("lastId", lastId)
+          .setFirstResult(offset)
+          .setMaxResults(pageSize)
+          .list();
+      if (ids.isEmpty()) {
+        return new ArrayList<>();
+      }
+      return session
+          .createQuery("SELECT DISTINCT p FROM PokemonData p LEFT JOIN FETCH p.movesList "
+              + "WHERE p.id IN (:ids) ORDER BY p.id")
+          .setParameterList("ids", ids)
+          .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+          .list();
+    });
+  }
+
+  /**
+   * Vraća zapis Pokemona sa datim id-jem, zajedno sa vještinama (JOIN FETCH), npr. radi ažuriranja
+   * jednog Pokemona u prikazu nakon promjene.
+   *
+   * @param id id Pokemona
+   * @return PokemonData objekat, ili null ako Pokemon ne postoji
+   */
+  public PokemonData getPokemonData(int id) {
+    return queryWithSession(session -> (PokemonData) session
+        .createQuery("SELECT DISTINCT p FROM PokemonData p LEFT JOIN FETCH p.movesList WHERE p.id = :id")
+        .setParameter("id", id)
+        .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+        .uniqueResult());
+  }
+
+  /**
+   * Vraća ukupan broj zapisa u tablici Pokemon.
+   *
+   * @return broj Pokemona
+   */
+  public int countPokemon() {
+    return queryWithSession(session ->
+        ((Long) session.createQuery("SELECT COUNT(*) FROM PokemonData").uniqueResult()).intValue());
+  }
+
   /**
    * Dodaje zapis o Pokemonu, u tablicu Pokemon. PokemonData objekat predstavlja podatke o
    * individualnom Pokemonu. Metoda vraća id Pokemona, koji odgovara vrijednosti atributa id u
@@ -75,7 +224,9 @@ public class PokemonDataStore {
    * su povezani sa tim Pokemonom (tj. kad se kreira lista vještina koje posjeduje).
    */
   public int add(PokemonData pokemon) {
-    return saveWithTransaction(session -> session.save(pokemon));
+    int pokemonId = saveWithTransaction(session -> session.save(pokemon));
+    changed(ChangeType.ADDED, pokemonId);
+    return pokemonId;
   }
 
   /**
@@ -87,6 +238,88 @@ public class PokemonDataStore {
    */
   public void add(PokemonMoveData pokemonMove) {
     executeWithTransaction(session -> session.save(pokemonMove));
+    changed(ChangeType.UPDATED, pokemonMove.getPokemonId());
+  }
+
+  /**
+   * Dodaje zapis o Pokemonu u tablicu Pokemon, te zapise o svim njegovim vještinama u tablicu
+   * PokemonMove, unutar jedne transakcije. Vještine se umeću jednim JDBC batchom. Svakoj
+   * vještini se podešava pokemonId (te id, ukoliko ga baza vrati). Lista vještina samog
+   * PokemonData objekta trebala bi biti prazna, inače bi je Hibernate također pokušao spremiti.
+   *
+   * @param pokemon PokemonData objekat
+   * @param moves   vještine Pokemona
+   * @return id dodatog Pokemona
+   */
+  public int addWithMoves(PokemonData pokemon, List<PokemonMoveData> moves) {
+    int pokemonId = saveWithTransaction(session -> {
+      int id = (Integer) session.save(pokemon);
+      for (PokemonMoveData move : moves) {
+        move.setPokemonId(id);
+      }
+      insertMoves(session, moves);
+      return id;
+    });
+    changed(ChangeType.ADDED, pokemonId);
+    return pokemonId;
+  }
+
+  /**
+   * Masovno posvajanje: dodaje sve date Pokemone i njihove vještine unutar jedne transakcije.
+   * Vještine svih Pokemona umeću se jednim JDBC batchom. Vidjeti i
+   * {@link #addWithMoves(PokemonData, List)}.
+   *
+   * @param pokemonWithMoves mapa Pokemona i pripadajućih vještina
+   * @return id-jevi dodatih Pokemona, redoslijedom kojim ih vraća iterator mape
+   */
+  public List<Integer> addAllWithMoves(Map<PokemonData, List<PokemonMoveData>> pokemonWithMoves) {
+    List<Integer> pokemonIds = new ArrayList<>(pokemonWithMoves.size());
+    executeWithTransaction(session -> {
+      List<PokemonMoveData> allMoves = new ArrayList<>();
+      for (Map.Entry<PokemonData, List<PokemonMoveData>> entry : pokemonWithMoves.entrySet()) {
+        int pokemonId = (Integer) session.save(entry.getKey());
+        pokemonIds.add(pokemonId);
+        for (PokemonMoveData move : entry.getValue()) {
+          move.setPokemonId(pokemonId);
+          allMoves.add(move);
+        }
+        if (pokemonIds.size() % FLUSH_INTERVAL == 0) {
+          session.flush();
+          session.clear();
+        }
+      }
+      insertMoves(session, allMoves);
+    });
+    for (Integer pokemonId : pokemonIds) {
+      changed(ChangeType.ADDED, pokemonId);
+    }
+    return pokemonIds;
+  }
+
+  /**
+   * Umeće date vještine u tablicu PokemonMove, jednim JDBC batchom, unutar trenutne transakcije.
+   */
+  private void insertMoves(Session session, List<PokemonMoveData> moves) {
+    if (moves.isEmpty()) {
+      return;
+    }
+    session.flush();
+    session.doWork(connection -> {
+      try (PreparedStatement statement =
+               connection.prepareStatement(INSERT_MOVE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+        for (PokemonMoveData move : moves) {
+          statement.setInt(1, move.getPokemonId());
+          statement.setString(2, move.getMove());
+          statement.addBatch();
+        }
+        statement.executeBatch();
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+          for (int i = 0; i < moves.size() && keys.next(); i++) {
+            moves.get(i).setId(keys.getInt(1));
+          }
+        }
+      }
+    });
   }
 
   /**
@@ -96,6 +329,48 @@ public class PokemonDataStore {
    */
   public void update(PokemonData pokemon) {
     executeWithTransaction(session -> session.update(pokemon));
+    changed(ChangeType.UPDATED, pokemon.getId());
+  }
+
+  /**
+   * Zapisuje rezultate niza borbi u jednoj transakciji: HP više Pokemona jednim JDBC batchom,
+   * umjesto zasebnog {@link #update(PokemonData)} za svakog Pokemona, te nove pobjede jednim UPDATE
+   * upitom nad tablicom Stats. Zapisuje se ili sve ili ništa.
+   * <p>
+   * Pobjede se zapisuju mimo {@link WinStatsStore}-a, pa ih WinStatsStore koji je već pročitao broj
+   * pobjeda ne vidi; metoda je namijenjena borbama bez GUI-ja.
+   *
+   * @param healthById novi HP, po id-ju Pokemona
+   * @param wins       broj novih pobjeda
+   */
+  public void saveBattleResults(Map<Integer, Integer> healthById, int wins) {
+    if (healthById.isEmpty() && wins == 0) {
+      return;
+    }
+    executeWithTransaction(session -> {
+      if (!healthById.isEmpty()) {
+        session.doWork(connection -> {
+          try (PreparedStatement statement = connection.prepareStatement(UPDATE_HEALTH_SQL)) {
+            for (Map.Entry<Integer, Integer> entry : healthById.entrySet()) {
+              statement.setInt(1, entry.getValue());
+              statement.setInt(2, entry.getKey());
+              statement.addBatch();
+            }
+            statement.executeBatch();
+          }
+        });
+      }
+      if (wins != 0) {
+        Query query = session.createQuery("UPDATE StatsData SET playerWins = playerWins + :wins");
+        query.setParameter("wins", wins);
+        query.executeUpdate();
+      }
+    });
+    // JDBC batch zaobilazi Hibernate, pa se i second-level cache (ako je uključen) prazni ručno.
+    factory.getCache().evictEntityRegion(PokemonData.class);
+    for (Integer id : healthById.keySet()) {
+      changed(ChangeType.UPDATED, id);
+    }
   }
 
   /**
@@ -105,6 +380,7 @@ public class PokemonDataStore {
    */
   public void delete(PokemonData pokemon) {
     executeWithTransaction(session -> session.delete(pokemon));
+    changed(ChangeType.REMOVED, pokemon.getId());
   }
 
   /**
@@ -118,6 +394,48 @@ public class PokemonDataStore {
       query.setParameter("pokemonId", pokemonId);
       query.executeUpdate();
     });
+    changed(ChangeType.UPDATED, pokemonId);
+  }
+
+  /**
+   * Briše Pokemona sa datim ID-jem, zajedno sa svim njegovim vještinama, unutar jedne transakcije.
+   * Zbog ograničenja u vidu foreign key-a, prvo se brišu vještine iz tablice PokemonMove.
+   *
+   * @param pokemonId id nekog PokemonData objekta
+   */
+  public void release(int pokemonId) {
+    executeWithTransaction(session -> {
+      session.createQuery("DELETE FROM PokemonMoveData WHERE pokemonId = :pokemonId")
+          .setParameter("pokemonId", pokemonId)
+          .executeUpdate();
+      session.createQuery("DELETE FROM PokemonData WHERE id = :id")
+          .setParameter("id", pokemonId)
+          .executeUpdate();
+    });
+    changed(ChangeType.REMOVED, pokemonId);
+  }
+
+  /**
+   * Briše sve Pokemone sa datim ID-jevima, zajedno sa njihovim vještinama. Bez obzira na broj
+   * Pokemona, izvršavaju se samo dva DELETE upita, unutar jedne transakcije.
+   *
+   * @param pokemonIds id-jevi PokemonData objekata
+   */
+  public void releaseAll(Collection<Integer> pokemonIds) {
+    if (pokemonIds.isEmpty()) {
+      return;
+    }
+    executeWithTransaction(session -> {
+      session.createQuery("DELETE FROM PokemonMoveData WHERE pokemonId IN (:pokemonIds)")
+          .setParameterList("pokemonIds", pokemonIds)
+          .executeUpdate();
+      session.createQuery("DELETE FROM PokemonData WHERE id IN (:pokemonIds)")
+          .setParameterList("pokemonIds", pokemonIds)
+          .executeUpdate();
+    });
+    for (Integer pokemonId : pokemonIds) {
+      changed(ChangeType.REMOVED, pokemonId);
+    }
   }
 
   /**
@@ -131,6 +449,7 @@ public class PokemonDataStore {
       query.setParameter("id", id);
       query.executeUpdate();
     });
+    changed(ChangeType.UPDATED, id);
   }
 }
 
@@ -1,6 +1,8 @@
 package pokemon.datastore;
 
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * <b>PokemonMove</b> predstavlja podatke o vještinama, koji se pohranjuju u tablici PokemonMove.
@@ -15,6 +17,8 @@ import javax.persistence.*;
  */
 @Entity
 @Table(name = "PokemonMove", schema = "pokemon")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class PokemonMoveData {
 
   @Id
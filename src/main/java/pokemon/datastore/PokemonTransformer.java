@@ -3,7 +3,8 @@ package pokemon.datastore;
 import pokemon.domain.Pokemon;
 import pokemon.domain.PokemonSpecies;
 import pokemon.domain.PokemonSpeciesLoader;
-import pokemon.domain.moves.*;
+import pokemon.domain.moves.Move;
+import pokemon.domain.moves.Moves;
 
 import java.util.*;
 
@@ -18,18 +19,12 @@ import java.util.*;
  * </ul>
  */
 public class PokemonTransformer {
-    private final TreeMap<Integer, PokemonSpecies> speciesMap;
-    private final static Map<String, Move> movesMap = new HashMap<>();
+    // Vrste se čitaju kod svake konverzije, pa transformer nad registrom vidi i vrste učitane nakon
+    // njegovog kreiranja (npr. nakon osvježavanja vrsta sa weba).
+    private final PokemonSpeciesLoader speciesLoader;
 
     public PokemonTransformer(PokemonSpeciesLoader speciesLoader) {
-        speciesMap = speciesLoader.getPokemonSpecies();
-
-        movesMap.put("Tackle", new Tackle());
-        movesMap.put("Bubble", new Bubble());
-        movesMap.put("Ember", new Ember());
-        movesMap.put("Splash", new Splash());
-        movesMap.put("Take Down", new TakeDown());
-        movesMap.put("Vine Whip", new VineWhip());
+        this.speciesLoader = speciesLoader;
     }
 
     /**
@@ -41,12 +36,12 @@ public class PokemonTransformer {
      * @return Pokemon objekat
      */
     public Pokemon convert(PokemonData pokemonData) {
-        PokemonSpecies pokemonSpecies = speciesMap.get(pokemonData.getSpeciesNumber());
+        PokemonSpecies pokemonSpecies = speciesLoader.getSpecies(pokemonData.getSpeciesNumber());
 
         List<PokemonMoveData> moveDataList = pokemonData.getMovesList();
         ArrayList<Move> moveList = new ArrayList<>();
         for (PokemonMoveData moveData : moveDataList) {
-            moveList.add(movesMap.get(moveData.getMove()));
+            moveList.add(Moves.byName(moveData.getMove()));
         }
 
         return new Pokemon(pokemonData.getId(), pokemonData.getNickname(),
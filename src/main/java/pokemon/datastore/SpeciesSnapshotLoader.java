@@ -0,0 +1,185 @@
+package pokemon.datastore;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonSpeciesLoader;
+import pokemon.domain.PokemonType;
+
+/**
+ * <b>SpeciesSnapshotLoader</b> učitava Pokemon vrste iz binarnog snapshota na disku, te ga po
+ * potrebi zapisuje. Snapshot se kreira nakon uspješnog parsiranja PokeDex stranice, pa aplikacija
+ * može startati bez čekanja na mrežu (pa čak i bez nje). Datoteka se čita putem memorijski
+ * mapiranog FileChannel-a. Format (big-endian):
+ * <ul>
+ *   <li>magic: int, "PKSS"</li>
+ *   <li>version: short</li>
+ *   <li>count: int, broj vrsta</li>
+ *   <li>za svaku vrstu: id (int), tip (byte, ordinal PokemonType-a), drugi tip (byte, -1 ako ga
+ *   nema), hp (unsigned short), naziv i URL slike (unsigned short dužina + UTF-8 bajtovi)</li>
+ * </ul>
+ * Snapshoti verzije 1 nemaju drugi tip; i dalje se mogu čitati, a vrste iz njih nemaju drugi tip.
+ */
+public class SpeciesSnapshotLoader implements PokemonSpeciesLoader {
+
+  /**
+   * Defaultna lokacija snapshota, unutar korisnikovog home direktorija.
+   */
+  public static final Path DEFAULT_FILE =
+      Paths.get(System.getProperty("user.home"), ".pokemon", "species.bin");
+
+  static final int MAGIC = 0x504B5353; // "PKSS"
+  static final short VERSION = 2;
+
+  private final Path file;
+
+  public SpeciesSnapshotLoader(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Provjerava postoji li snapshot na disku.
+   *
+   * @return true ako datoteka postoji, false inače
+   */
+  public boolean exists() {
+    return Files.isRegularFile(file);
+  }
+
+  /**
+   * Vraća vrste iz snapshota. Ako snapshot ne postoji ili je neispravan, vraća praznu mapu.
+   *
+   * @return TreeMap objekat sa vrstama iz snapshota
+   */
+  @Override
+  public TreeMap<Integer, PokemonSpecies> getPokemonSpecies() {
+    try {
+      return read();
+    } catch (IOException e) {
+      e.printStackTrace();
+      return new TreeMap<>();
+    }
+  }
+
+  /**
+   * Čita snapshot putem memorijski mapiranog FileChannel-a.
+   *
+   * @return TreeMap objekat sa vrstama iz snapshota
+   * @throws IOException ako datoteka ne postoji, ili nije ispravnog formata/verzije
+   */
+  public TreeMap<Integer, PokemonSpecies> read() throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a species snapshot: " + file);
+      }
+      short version = buffer.getShort();
+      if (version != 1 && version != VERSION) {
+        throw new IOException("Unsupported species snapshot version: " + version);
+      }
+
+      PokemonType[] types = PokemonType.values();
+      TreeMap<Integer, PokemonSpecies> pokemonSpecies = new TreeMap<>();
+      int count = buffer.getInt();
+      for (int i = 0; i < count; i++) {
+        int id = buffer.getInt();
+        PokemonType type = typeOf(buffer.get(), types);
+        PokemonType secondaryType = null;
+        if (version > 1) {
+          int secondaryOrdinal = buffer.get();
+          secondaryType = secondaryOrdinal < 0 ? null : typeOf(secondaryOrdinal, types);
+        }
+        int hp = Short.toUnsignedInt(buffer.getShort());
+        String name = readString(buffer);
+        String imageUrl = readString(buffer);
+        pokemonSpecies.put(id, new PokemonSpecies(id, name, type, secondaryType, hp, imageUrl));
+      }
+      return pokemonSpecies;
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Truncated species snapshot: " + file, e);
+    }
+  }
+
+  /**
+   * Zapisuje dane vrste u snapshot. Podaci se najprije zapisuju u privremenu datoteku, koja potom
+   * atomarno zamjenjuje postojeći snapshot, pa prekinuti zapis ne može oštetiti stari snapshot.
+   *
+   * @param pokemonSpecies vrste koje se zapisuju
+   * @throws IOException ako zapisivanje ne uspije
+   */
+  public void write(Map<Integer, PokemonSpecies> pokemonSpecies) throws IOException {
+    int size = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    byte[][] names = new byte[pokemonSpecies.size()][];
+    byte[][] imageUrls = new byte[pokemonSpecies.size()][];
+    int i = 0;
+    for (PokemonSpecies species : pokemonSpecies.values()) {
+      names[i] = encode(species.getName());
+      imageUrls[i] = encode(species.getImageUrl());
+      size += Integer.BYTES + Byte.BYTES + Byte.BYTES + Short.BYTES
+          + Short.BYTES + names[i].length + Short.BYTES + imageUrls[i].length;
+      i++;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(MAGIC).putShort(VERSION).putInt(pokemonSpecies.size());
+    i = 0;
+    for (PokemonSpecies species : pokemonSpecies.values()) {
+      buffer.putInt(species.getId());
+      buffer.put((byte) species.getType().ordinal());
+      buffer.put((byte) (species.getSecondaryType() == null ? -1 : species.getSecondaryType().ordinal()));
+      buffer.putShort((short) species.getHp());
+      buffer.putShort((short) names[i].length).put(names[i]);
+      buffer.putShort((short) imageUrls[i].length).put(imageUrls[i]);
+      i++;
+    }
+    buffer.flip();
+
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path tempFile = Files.createTempFile(directory, "species", ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  private static PokemonType typeOf(int typeOrdinal, PokemonType[] types) throws IOException {
+    if (typeOrdinal < 0 || typeOrdinal >= types.length) {
+      throw new IOException("Invalid species type in snapshot: " + typeOrdinal);
+    }
+    return types[typeOrdinal];
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static byte[] encode(String value) throws IOException {
+    byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > 0xFFFF) {
+      throw new IOException("String too long for species snapshot: " + value);
+    }
+    return bytes;
+  }
+}
@@ -1,5 +1,9 @@
 package pokemon.datastore;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
@@ -8,36 +12,117 @@ import org.hibernate.query.Query;
 /**
  * <b>WinsStatsStore</b> je klasa koja sadrži metode za dobivanje trenutnog broja korisnikovih
  * pobjeda, te za njihovo inkrementiranje. Radi sa tablicom Stats.
+ * <p>
+ * Pobjede se ne zapisuju odmah (write-behind): inkrementi se zbrajaju u memoriji, a pozadinski
+ * thread ih periodično zapisuje jednim UPDATE upitom. Zapisuju se i kod zatvaranja store-a, te kod
+ * gašenja JVM-a. U slučaju pada aplikacije gube se najviše pobjede ostvarene unutar jednog
+ * intervala zapisivanja. Broj pobjeda se, nakon prvog čitanja iz databaze, čita iz memorije.
  */
 public class WinStatsStore {
 
+  private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 5000;
+
   private final SessionFactory factory;
+  private final LongAdder pendingWins = new LongAdder();
+  private final ScheduledExecutorService scheduler;
+  private final Thread shutdownHook;
+  private Integer committedWins; // null dok se broj pobjeda ne pročita iz databaze
 
   public WinStatsStore(SessionFactory factory) {
+    this(factory, DEFAULT_FLUSH_INTERVAL_MILLIS);
+  }
+
+  public WinStatsStore(SessionFactory factory, long flushIntervalMillis) {
     this.factory = factory;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "win-stats-flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+        TimeUnit.MILLISECONDS);
+    this.shutdownHook = new Thread(this::flushQuietly, "win-stats-shutdown");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
   }
 
   /**
-   * Vraća trenutni broj korisnikovih pobjeda, tj. vrijednost atributa playerWins.
+   * Vraća trenutni broj korisnikovih pobjeda, tj. vrijednost atributa playerWins, uvećanu za
+   * pobjede koje još nisu zapisane. Databaza se čita samo kod prvog poziva.
    *
    * @return broj pobjeda
    */
-  public int getWinCount() {
-    try (Session session = factory.openSession()) {
-      Query query = session.createQuery("SELECT playerWins FROM StatsData");
-      return (int) query.uniqueResult();
+  public synchronized int getWinCount() {
+    if (committedWins == null) {
+      try (Session session = factory.openSession()) {
+        Query query = session.createQuery("SELECT playerWins FROM StatsData");
+        committedWins = (int) query.uniqueResult();
+      }
     }
+    return committedWins + (int) pendingWins.sum();
   }
 
   /**
-   * Za jedan inkrementira broj pobjeda u tablici Stats.
+   * Za jedan inkrementira broj pobjeda. Inkrement se zapisuje u tablicu Stats kod idućeg
+   * zapisivanja (vidjeti {@link #flush()}), pa metoda ne pristupa databazi.
    */
   public void incrementWinCount() {
+    pendingWins.increment();
+  }
+
+  /**
+   * Uvećava broj pobjeda za dati broj, npr. nakon niza borbi bez GUI-ja. Kao i kod
+   * {@link #incrementWinCount()}, pobjede se zapisuju kod idućeg zapisivanja.
+   *
+   * @param wins broj novih pobjeda
+   */
+  public void addWins(int wins) {
+    pendingWins.add(wins);
+  }
+
+  /**
+   * Zapisuje sve dosad nezapisane pobjede u tablicu Stats, jednim UPDATE upitom. Ako zapisivanje
+   * ne uspije, pobjede ostaju nezapisane, te se zapisuju kod idućeg pokušaja.
+   */
+  public synchronized void flush() {
+    long wins = pendingWins.sum();
+    if (wins == 0) {
+      return;
+    }
+    // Oduzima se točno pročitana vrijednost, pa se ne gube inkrementi koji stignu u međuvremenu.
+    pendingWins.add(-wins);
     try (Session session = factory.openSession()) {
       Transaction transaction = session.beginTransaction();
-      Query query = session.createQuery("UPDATE StatsData SET playerWins = playerWins + 1");
+      Query query = session.createQuery("UPDATE StatsData SET playerWins = playerWins + :wins");
+      query.setParameter("wins", (int) wins);
       query.executeUpdate();
       transaction.commit();
+    } catch (RuntimeException flushEx) {
+      pendingWins.add(wins);
+      throw flushEx;
+    }
+    if (committedWins != null) {
+      committedWins += (int) wins;
+    }
+  }
+
+  /**
+   * Zaustavlja periodično zapisivanje, uklanja shutdown hook, te zapisuje sve preostale pobjede.
+   */
+  public void close() {
+    scheduler.shutdown();
+    try {
+      Runtime.getRuntime().removeShutdownHook(shutdownHook);
+    } catch (IllegalStateException shutdownInProgress) {
+      // JVM se već gasi, pa će hook ionako biti pokrenut; flush je idempotentan.
+    }
+    flush();
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException flushEx) {
+      flushEx.printStackTrace();
     }
   }
 }
@@ -0,0 +1,224 @@
+package pokemon.domain;
+
+/**
+ * <b>BattleEngine</b> vodi borbu između igračevog i neprijateljskog Pokemona, bez ikakve ovisnosti o
+ * GUI-ju ili databazi. U svakom potezu igrač prvi koristi vještinu ili predmet, a potom, ako oba
+ * Pokemona i dalje stoje, neprijatelj koristi vještinu koju odabere zadata {@link EnemyPolicy}.
+ * <p>
+ * Potez se može odigrati odjednom ({@link #playTurn(Usable)}), ili korak po korak
+ * ({@link #playerAction(Usable)}, {@link #chooseEnemyMove()}, {@link #enemyAction(int)}), npr. kada
+ * se neprijateljev odabir računa asinkrono. Rezultat poteza se upisuje u jedan, višestruko korišteni
+ * {@link TurnResult} objekat. Učinci poteza se bilježe kao {@link BattleEvent}-i, a poruke se
+ * kreiraju tek kada ih netko zatraži, pa borba bez GUI-ja po potezu ne alocira ništa.
+ * Klasa nije thread-safe.
+ */
+public class BattleEngine {
+
+  /**
+   * Stanje borbe.
+   */
+  public enum Outcome {
+    ONGOING, PLAYER_WON, ENEMY_WON, DRAW;
+
+    public boolean isOver() {
+      return this != ONGOING;
+    }
+  }
+
+  /**
+   * Rezultat posljednjeg poteza. Isti objekat se koristi za svaki potez, pa ga nije moguće čuvati
+   * između poteza.
+   */
+  public static final class TurnResult {
+
+    private final BattleEvent playerEvent = new BattleEvent();
+    private final BattleEvent enemyEvent = new BattleEvent();
+    private boolean playerActed;
+    private int enemyMoveIndex;
+    private Outcome outcome;
+
+    private TurnResult() {
+      reset(Outcome.ONGOING);
+    }
+
+    private void reset(Outcome outcome) {
+      playerActed = false;
+      enemyMoveIndex = -1;
+      this.outcome = outcome;
+    }
+
+    /**
+     * @return događaj igračevog odabira, ili null ako igrač nije igrao u ovom potezu
+     */
+    public BattleEvent getPlayerEvent() {
+      return playerActed ? playerEvent : null;
+    }
+
+    /**
+     * @return događaj neprijateljeve vještine, ili null ako neprijatelj nije igrao
+     */
+    public BattleEvent getEnemyEvent() {
+      return enemyMoveIndex < 0 ? null : enemyEvent;
+    }
+
+    /**
+     * @return poruka o učinku igračevog odabira, ili null ako igrač nije igrao u ovom potezu
+     */
+    public String getPlayerMessage() {
+      return playerActed ? playerEvent.render() : null;
+    }
+
+    /**
+     * @return poruka o učinku neprijateljeve vještine, ili null ako neprijatelj nije igrao
+     */
+    public String getEnemyMessage() {
+      return enemyMoveIndex < 0 ? null : enemyEvent.render();
+    }
+
+    /**
+     * @return indeks vještine koju je neprijatelj upotrijebio, ili -1 ako neprijatelj nije igrao
+     */
+    public int getEnemyMoveIndex() {
+      return enemyMoveIndex;
+    }
+
+    public Outcome getOutcome() {
+      return outcome;
+    }
+  }
+
+  private final Pokemon player;
+  private final Pokemon enemy;
+  private final Inventory inventory;
+  private final EnemyPolicy enemyPolicy;
+  private final BattleRandom random;
+  private final TurnResult turnResult = new TurnResult();
+  private Outcome outcome = Outcome.ONGOING;
+  private int turnCount;
+
+  public BattleEngine(Pokemon player, Pokemon enemy) {
+    this(player, enemy, EnemyPolicy.RANDOM, BattleRandom.create());
+  }
+
+  public BattleEngine(Pokemon player, Pokemon enemy, EnemyPolicy enemyPolicy,
+      BattleRandom random) {
+    this(player, new Inventory(), enemy, enemyPolicy, random);
+  }
+
+  /**
+   * @param player      igračev Pokemon
+   * @param inventory   igračev inventar; koristi ga EnemyPolicy, npr. za predviđanje igračevih
+   *                    poteza
+   * @param enemy       neprijateljski Pokemon
+   * @param enemyPolicy strategija po kojoj neprijatelj bira vještine
+   * @param random      izvor slučajnih brojeva borbe
+   */
+  public BattleEngine(Pokemon player, Inventory inventory, Pokemon enemy, EnemyPolicy enemyPolicy,
+      BattleRandom random) {
+    this.player = player;
+    this.inventory = inventory;
+    this.enemy = enemy;
+    this.enemyPolicy = enemyPolicy;
+    this.random = random;
+    updateOutcome();
+  }
+
+  public Pokemon getPlayer() {
+    return player;
+  }
+
+  public Pokemon getEnemy() {
+    return enemy;
+  }
+
+  public Inventory getInventory() {
+    return inventory;
+  }
+
+  public BattleRandom getRandom() {
+    return random;
+  }
+
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * @return broj započetih poteza
+   */
+  public int getTurnCount() {
+    return turnCount;
+  }
+
+  /**
+   * Odigrava cijeli potez: igračev odabir, te (ako borba nije završena) neprijateljevu vještinu.
+   *
+   * @param usable igračev odabir (vještina, predmet)
+   * @return rezultat poteza
+   * @throws IllegalStateException ako je borba već završena
+   */
+  public TurnResult playTurn(Usable usable) {
+    playerAction(usable);
+    if (!outcome.isOver()) {
+      enemyAction(chooseEnemyMove());
+    }
+    return turnResult;
+  }
+
+  /**
+   * Prvi korak poteza: igrač koristi vještinu ili predmet.
+   *
+   * @param usable igračev odabir (vještina, predmet)
+   * @return rezultat poteza, sa igračevim događajem
+   * @throws IllegalStateException ako je borba već završena
+   */
+  public TurnResult playerAction(Usable usable) {
+    checkOngoing();
+    turnCount++;
+    turnResult.reset(outcome);
+    usable.use(player, enemy, turnResult.playerEvent);
+    turnResult.playerActed = true;
+    turnResult.outcome = updateOutcome();
+    return turnResult;
+  }
+
+  /**
+   * Drugi korak poteza: neprijatelj bira vještinu. Stanje borbe se ne mijenja, pa se ovaj korak
+   * može izvršiti i u drugom threadu, dok se Pokemoni u međuvremenu ne mijenjaju.
+   *
+   * @return indeks odabrane neprijateljeve vještine
+   */
+  public int chooseEnemyMove() {
+    return enemyPolicy.chooseMove(enemy, player, inventory, random);
+  }
+
+  /**
+   * Treći korak poteza: neprijatelj koristi odabranu vještinu.
+   *
+   * @param moveIndex indeks neprijateljeve vještine
+   * @return rezultat poteza, nadopunjen neprijateljevim događajem
+   * @throws IllegalStateException ako je borba već završena
+   */
+  public TurnResult enemyAction(int moveIndex) {
+    checkOngoing();
+    enemy.useMove(moveIndex, player, turnResult.enemyEvent);
+    turnResult.enemyMoveIndex = moveIndex;
+    turnResult.outcome = updateOutcome();
+    return turnResult;
+  }
+
+  private void checkOngoing() {
+    if (outcome.isOver()) {
+      throw new IllegalStateException("The battle is already over: " + outcome);
+    }
+  }
+
+  private Outcome updateOutcome() {
+    if (player.isDefeated()) {
+      outcome = enemy.isDefeated() ? Outcome.DRAW : Outcome.ENEMY_WON;
+    } else if (enemy.isDefeated()) {
+      outcome = Outcome.PLAYER_WON;
+    }
+    return outcome;
+  }
+}
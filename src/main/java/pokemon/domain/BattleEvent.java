@@ -0,0 +1,174 @@
+package pokemon.domain;
+
+import pokemon.domain.moves.Move;
+import pokemon.domain.moves.Moves;
+
+/**
+ * <b>BattleEvent</b> opisuje učinak jedne upotrebe vještine ili predmeta: tko je što upotrijebio,
+ * protiv koga, koliko štete (ili ozdravljenja) je to prouzrokovalo, te koliko je napad bio
+ * učinkovit. Poruka za log borbe se ne kreira kod upotrebe, već tek kada je netko zatraži
+ * ({@link #render()}), pa borbe bez GUI-ja ne plaćaju formatiranje teksta.
+ * <p>
+ * Objekat je promjenjiv, i namijenjen je višestrukom korištenju: svaka upotreba prepisuje
+ * prethodni sadržaj.
+ */
+public final class BattleEvent {
+
+  /**
+   * Vrsta događaja.
+   */
+  public enum Kind {
+    /**
+     * Meta je izgubila {@link #getAmount()} HP-a.
+     */
+    DAMAGE,
+    /**
+     * Korisnik je ozdravio za {@link #getAmount()} HP-a.
+     */
+    HEAL,
+    /**
+     * Upotreba nije imala nikakav učinak (npr. Splash).
+     */
+    NO_EFFECT,
+    /**
+     * Upotreba je opisana gotovom porukom ({@link #getMessage()}).
+     */
+    MESSAGE
+  }
+
+  private Kind kind;
+  private Pokemon actor;
+  private Pokemon target;
+  private Usable usable;
+  private int amount;
+  private float effectiveness;
+  private int recoil;
+  private String message;
+
+  /**
+   * Bilježi napad koji je meti oduzeo HP.
+   *
+   * @param actor         Pokemon koji napada
+   * @param target        Pokemon koji je napadnut
+   * @param usable        vještina ili predmet kojim se napada
+   * @param amount        količina štete
+   * @param effectiveness množitelj učinkovitosti napada (1 ako tip nije relevantan)
+   */
+  public void damage(Pokemon actor, Pokemon target, Usable usable, int amount,
+      float effectiveness) {
+    set(Kind.DAMAGE, actor, target, usable, amount, effectiveness);
+  }
+
+  /**
+   * Bilježi ozdravljenje korisnika.
+   *
+   * @param actor  Pokemon koji je ozdravio
+   * @param usable predmet kojim je ozdravio
+   * @param amount količina ozdravljenog HP-a
+   */
+  public void heal(Pokemon actor, Usable usable, int amount) {
+    set(Kind.HEAL, actor, actor, usable, amount, 1f);
+  }
+
+  /**
+   * Bilježi upotrebu bez učinka.
+   */
+  public void noEffect(Pokemon actor, Pokemon target, Usable usable) {
+    set(Kind.NO_EFFECT, actor, target, usable, 0, 1f);
+  }
+
+  /**
+   * Bilježi upotrebu opisanu gotovom porukom, npr. za predmete koji ne poznaju ostale vrste
+   * događaja.
+   */
+  public void message(Pokemon actor, Pokemon target, Usable usable, String message) {
+    set(Kind.MESSAGE, actor, target, usable, 0, 1f);
+    this.message = message;
+  }
+
+  /**
+   * Bilježi štetu koju je napadač nanio sam sebi (npr. kod Take Down vještine). Poziva se nakon
+   * {@link #damage(Pokemon, Pokemon, Usable, int, float)}.
+   *
+   * @param recoil količina recoil štete
+   */
+  public void recoil(int recoil) {
+    this.recoil = recoil;
+  }
+
+  private void set(Kind kind, Pokemon actor, Pokemon target, Usable usable, int amount,
+      float effectiveness) {
+    this.kind = kind;
+    this.actor = actor;
+    this.target = target;
+    this.usable = usable;
+    this.amount = amount;
+    this.effectiveness = effectiveness;
+    this.recoil = 0;
+    this.message = null;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public Pokemon getActor() {
+    return actor;
+  }
+
+  public Pokemon getTarget() {
+    return target;
+  }
+
+  public Usable getUsable() {
+    return usable;
+  }
+
+  /**
+   * @return kod vještine iz registra {@link Moves}, ili -1 ako nije upotrijebljena vještina
+   */
+  public int getMoveCode() {
+    return usable instanceof Move ? Moves.codeOf((Move) usable) : -1;
+  }
+
+  public int getAmount() {
+    return amount;
+  }
+
+  public float getEffectiveness() {
+    return effectiveness;
+  }
+
+  public boolean isSuperEffective() {
+    return effectiveness > 1f;
+  }
+
+  public int getRecoil() {
+    return recoil;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Kreira poruku o događaju, u obliku u kojem se prikazuje u logu borbe. Tekst određuje
+   * upotrijebljena vještina ili predmet ({@link Usable#render(BattleEvent)}).
+   *
+   * @return poruka o učinku upotrebe
+   */
+  public String render() {
+    return usable.render(this);
+  }
+
+  @Override
+  public String toString() {
+    return "BattleEvent{" +
+        "kind=" + kind +
+        ", usable=" + (usable == null ? null : usable.getName()) +
+        ", amount=" + amount +
+        ", effectiveness=" + effectiveness +
+        ", recoil=" + recoil +
+        '}';
+  }
+}
@@ -0,0 +1,65 @@
+package pokemon.domain;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <b>BattleRandom</b> je izvor slučajnih brojeva za borbu (odabir neprijatelja, vještina, inventara
+ * i poteza). Temelji se na SplittableRandom-u, pa je isti seed uvijek daje isti niz brojeva: borbu
+ * je moguće ponoviti bit po bit, ako se zabilježi njen seed ({@link #getSeed()}).
+ * <p>
+ * Objekat nije thread-safe, i nema dijeljenog stanja: za paralelne borbe se svakom threadu ili
+ * borbi daje vlastiti objekat, npr. putem {@link #split()}.
+ */
+public final class BattleRandom {
+
+  private final long seed;
+  private final SplittableRandom random;
+
+  public BattleRandom(long seed) {
+    this.seed = seed;
+    this.random = new SplittableRandom(seed);
+  }
+
+  /**
+   * Kreira BattleRandom sa nasumičnim seedom.
+   *
+   * @return novi BattleRandom
+   */
+  public static BattleRandom create() {
+    return new BattleRandom(ThreadLocalRandom.current().nextLong());
+  }
+
+  /**
+   * @return seed sa kojim je ovaj objekat kreiran
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Kreira novi, neovisni BattleRandom, čiji se seed uzima iz ovog objekta. Niz seedova (pa time i
+   * borbi) je tako određen seedom ovog objekta.
+   *
+   * @return novi BattleRandom
+   */
+  public BattleRandom split() {
+    return new BattleRandom(random.nextLong());
+  }
+
+  /**
+   * @param bound gornja granica (isključiva), mora biti pozitivna
+   * @return slučajan broj između 0 i bound - 1
+   */
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  public long nextLong() {
+    return random.nextLong();
+  }
+
+  public double nextDouble() {
+    return random.nextDouble();
+  }
+}
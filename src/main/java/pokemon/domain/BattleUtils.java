@@ -1,28 +1,16 @@
 package pokemon.domain;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
 import java.util.stream.Collectors;
-import pokemon.domain.moves.Bubble;
-import pokemon.domain.moves.Ember;
 import pokemon.domain.moves.Move;
-import pokemon.domain.moves.Splash;
-import pokemon.domain.moves.Tackle;
-import pokemon.domain.moves.TakeDown;
-import pokemon.domain.moves.VineWhip;
+import pokemon.domain.moves.Moves;
 
 /**
  * Klasa sa pomoćnim metodama koje se mogu koristiti za pripremu borbe.
  */
 public class BattleUtils {
 
-    private static final Random random = new Random();
-
-    private static final Move[] RANDOM_MOVES = new Move[]{
-        new Bubble(), new Ember(), new Splash(),
-        new Tackle(), new TakeDown(), new VineWhip()
-    };
-
     /**
      * Pomoćna metoda za generiranje liste nasumičnih vještina. Lista nema duplikate, i sadrži
      * <b>do</b> 4 vještine.
@@ -30,26 +18,53 @@ public class BattleUtils {
      * @return ArrayList Move objekata, pročišćena od duplikata
      */
     public static ArrayList<Move> generateMoves() {
+        return generateMoves(BattleRandom.create());
+    }
+
+    /**
+     * Generira listu nasumičnih vještina, koristeći zadati izvor slučajnih brojeva.
+     *
+     * @param random izvor slučajnih brojeva
+     * @return ArrayList Move objekata, pročišćena od duplikata
+     */
+    public static ArrayList<Move> generateMoves(BattleRandom random) {
         int choice;
         ArrayList<Move> moves = new ArrayList<>();
         Move generatedMove;
         for (int i = 0; i < 4; i++) {
-            choice = random.nextInt(RANDOM_MOVES.length);
-            generatedMove = RANDOM_MOVES[choice];
+            choice = random.nextInt(Moves.count());
+            generatedMove = Moves.byCode(choice);
             moves.add(generatedMove);
         }
         return (ArrayList<Move>) moves.stream().distinct().collect(Collectors.toList());
     }
 
     public static Pokemon setUpEnemyPokemon(PokemonSpeciesLoader speciesLoader) {
-        ArrayList<PokemonSpecies> pokemonSpecies = new ArrayList<>(speciesLoader.getPokemonSpecies().values());
-        int speciesChoice = random.nextInt(pokemonSpecies.size());
-        return setUpPokemon(pokemonSpecies.get(speciesChoice));
+        return setUpEnemyPokemon(speciesLoader, BattleRandom.create());
     }
 
-    private static Pokemon setUpPokemon(PokemonSpecies pokemonSpecies) {
+    /**
+     * Kreira neprijateljskog Pokemona nasumične vrste, sa nasumičnim vještinama.
+     *
+     * @param speciesLoader izvor vrsta
+     * @param random        izvor slučajnih brojeva borbe
+     * @return novi Pokemon
+     */
+    public static Pokemon setUpEnemyPokemon(PokemonSpeciesLoader speciesLoader, BattleRandom random) {
+        List<PokemonSpecies> pokemonSpecies = speciesLoader.getSpeciesList();
+        int speciesChoice = random.nextInt(pokemonSpecies.size());
+        return setUpPokemon(pokemonSpecies.get(speciesChoice), random);
+    }
 
-        ArrayList<Move> moves = BattleUtils.generateMoves();
+    /**
+     * Kreira Pokemona date vrste, sa punim HP-om i nasumičnim vještinama.
+     *
+     * @param pokemonSpecies vrsta Pokemona
+     * @param random         izvor slučajnih brojeva za odabir vještina
+     * @return novi Pokemon
+     */
+    public static Pokemon setUpPokemon(PokemonSpecies pokemonSpecies, BattleRandom random) {
+        ArrayList<Move> moves = BattleUtils.generateMoves(random);
         return new Pokemon(pokemonSpecies.getName(), pokemonSpecies.getHp(), pokemonSpecies.getHp(),
                 pokemonSpecies.getType(), pokemonSpecies, moves);
     }
@@ -0,0 +1,23 @@
+package pokemon.domain;
+
+/**
+ * Strategija po kojoj neprijateljski Pokemon bira vještinu u borbi.
+ */
+public interface EnemyPolicy {
+
+  /**
+   * Nasumičan odabir vještine; ovako neprijatelj bira ako drugačije nije zadano.
+   */
+  EnemyPolicy RANDOM = (enemy, player, inventory, random) -> random.nextInt(enemy.getMoves().size());
+
+  /**
+   * Bira vještinu koju će neprijateljski Pokemon upotrijebiti u trenutnom potezu.
+   *
+   * @param enemy     neprijateljski Pokemon, koji bira vještinu
+   * @param player    igračev Pokemon
+   * @param inventory igračev inventar
+   * @param random    izvor slučajnih brojeva borbe
+   * @return indeks vještine u listi vještina neprijateljskog Pokemona
+   */
+  int chooseMove(Pokemon enemy, Pokemon player, Inventory inventory, BattleRandom random);
+}
@@ -5,7 +5,6 @@ import pokemon.domain.items.Item;
 import pokemon.domain.items.Potion;
 
 import java.util.ArrayList;
-import java.util.Random;
 
 /**
  * Inventory predstavlja korisnički inventar. Sadrži objekte koji proširuju Item klasu.
@@ -38,7 +37,15 @@ public class Inventory {
      */
 
     public void generateInventory() {
-        Random random = new Random();
+        generateInventory(BattleRandom.create());
+    }
+
+    /**
+     * Generira (0-2) predmeta, koristeći zadati izvor slučajnih brojeva.
+     *
+     * @param random izvor slučajnih brojeva
+     */
+    public void generateInventory(BattleRandom random) {
         int randomQuantity = random.nextInt(3);
         if (randomQuantity > 0) {  // dodaje predmete u inventar
             items.add(new Potion(randomQuantity));
@@ -89,6 +89,15 @@ public class Pokemon {
     return species.getType();
   }
 
+  /**
+   * Vraća drugi tip Pokemona, tj. drugi tip njegove vrste.
+   *
+   * @return drugi tip, ili null ako ga Pokemon (odnosno vrsta) nema
+   */
+  public PokemonType getSecondaryType() {
+    return species == null ? null : species.getSecondaryType();
+  }
+
   public void setType(PokemonType type) {
     this.type = type;
   }
@@ -135,6 +144,18 @@ public class Pokemon {
     return usedMove.use(this, target);
   }
 
+  /**
+   * Isto kao {@link #useMove(int, Pokemon)}, ali se učinak vještine upisuje u dati događaj, bez
+   * kreiranja poruke.
+   *
+   * @param moveNumber broj (indeks) vještine koja se rabi
+   * @param target     Pokemon B, nad/protiv kojim se vještina rabi
+   * @param event      događaj u koji se upisuje učinak vještine
+   */
+  public void useMove(int moveNumber, Pokemon target, BattleEvent event) {
+    moves.get(moveNumber).use(this, target, event);
+  }
+
   /**
    * Vraća boolean vrijednost koja naznačava da li je Pokemon pobijeđen (HP &le; 0).
    *
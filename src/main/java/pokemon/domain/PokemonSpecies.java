@@ -9,6 +9,7 @@ import java.util.Objects;
  *   <li>id: odgovara # na <a href="https://pokemondb.net/pokedex/all">PokeDex katalogu</a></li>
  *   <li>name: naziv vrste</li>
  *   <li>type: tip vrste (npr. NORMAL)</li>
+ *   <li>secondaryType: drugi tip vrste, ili null ako vrsta ima samo jedan tip</li>
  *   <li>hp: defaultni maksimalni HP za vrstu</li>
  *   <li>imageUrl: URL sa slikom Pokemona</li>
  * </ul>
@@ -18,13 +19,20 @@ public class PokemonSpecies {
   private final int id;
   private final String name;
   private final PokemonType type;
+  private final PokemonType secondaryType;
   private final int hp;
   private final String imageUrl;
 
   public PokemonSpecies(int id, String name, PokemonType type, int hp, String imageUrl) {
+    this(id, name, type, null, hp, imageUrl);
+  }
+
+  public PokemonSpecies(int id, String name, PokemonType type, PokemonType secondaryType, int hp,
+      String imageUrl) {
     this.id = id;
     this.name = name;
     this.type = type;
+    this.secondaryType = secondaryType;
     this.hp = hp;
     this.imageUrl = imageUrl;
   }
@@ -41,6 +49,10 @@ public class PokemonSpecies {
     return type;
   }
 
+  public PokemonType getSecondaryType() {
+    return secondaryType;
+  }
+
   public int getHp() {
     return hp;
   }
@@ -55,6 +67,7 @@ public class PokemonSpecies {
         "id=" + id +
         ", name=" + name +
         ", type=" + type +
+        ", secondaryType=" + secondaryType +
         ", hp=" + hp +
         ", imageUrl=" + imageUrl +
         '}';
@@ -70,11 +83,12 @@ public class PokemonSpecies {
     }
     PokemonSpecies that = (PokemonSpecies) o;
     return id == that.id && hp == that.hp && Objects.equals(name, that.name)
-        && type == that.type && Objects.equals(imageUrl, that.imageUrl);
+        && type == that.type && secondaryType == that.secondaryType
+        && Objects.equals(imageUrl, that.imageUrl);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, name, type, hp, imageUrl);
+    return Objects.hash(id, name, type, secondaryType, hp, imageUrl);
   }
 }
@@ -1,5 +1,7 @@
 package pokemon.domain;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.TreeMap;
 
 /**
@@ -15,4 +17,26 @@ public interface PokemonSpeciesLoader {
    * @return TreeMap objekat
    */
   TreeMap<Integer, PokemonSpecies> getPokemonSpecies();
+
+  /**
+   * Vraća listu svih vrsta, poredanih po ID-u. Korisna je kad god je potreban nasumičan pristup
+   * vrstama po indeksu (npr. kod odabira neprijateljskog Pokemona). Implementacije koje drže
+   * vrste u memoriji mogu vratiti već pripremljenu listu, umjesto da je kreiraju kod svakog poziva.
+   *
+   * @return lista PokemonSpecies objekata
+   */
+  default List<PokemonSpecies> getSpeciesList() {
+    return new ArrayList<>(getPokemonSpecies().values());
+  }
+
+  /**
+   * Vraća vrstu sa datim ID-om. Podrazumijevana implementacija kod svakog poziva učitava sve vrste,
+   * pa je implementacije koje drže vrste u memoriji trebaju prepisati.
+   *
+   * @param id ID vrste
+   * @return PokemonSpecies objekat, ili null ako vrsta sa datim ID-om ne postoji
+   */
+  default PokemonSpecies getSpecies(int id) {
+    return getPokemonSpecies().get(id);
+  }
 }
@@ -1,5 +1,7 @@
 package pokemon.domain;
 
+import java.util.Arrays;
+
 /**
  * Predstavlja tip Pokemon vrste, npr. FIRE, WATER, POISON...
  */
@@ -24,6 +26,93 @@ public enum PokemonType {
   FAIRY,
   DARK;
 
+  private static final int COUNT = values().length;
+
+  /**
+   * Tablica učinkovitosti: množitelj štete za napadački tip {@code a} protiv tipa {@code d} nalazi se
+   * na indeksu {@code a.ordinal() * COUNT + d.ordinal()}. Vrijednosti su 2 (posebno učinkovit), 1,
+   * 0.5 (slabo učinkovit) i 0 (bez učinka).
+   */
+  private static final float[] EFFECTIVENESS = new float[COUNT * COUNT];
+
+  static {
+    Arrays.fill(EFFECTIVENESS, 1f);
+    chart(NORMAL, new PokemonType[]{},
+        new PokemonType[]{ROCK, STEEL}, new PokemonType[]{GHOST});
+    chart(FIRE, new PokemonType[]{GRASS, ICE, BUG, STEEL},
+        new PokemonType[]{FIRE, WATER, ROCK, DRAGON}, new PokemonType[]{});
+    chart(WATER, new PokemonType[]{FIRE, GROUND, ROCK},
+        new PokemonType[]{WATER, GRASS, DRAGON}, new PokemonType[]{});
+    chart(ICE, new PokemonType[]{GRASS, GROUND, FLYING, DRAGON},
+        new PokemonType[]{FIRE, WATER, ICE, STEEL}, new PokemonType[]{});
+    chart(GRASS, new PokemonType[]{WATER, GROUND, ROCK},
+        new PokemonType[]{FIRE, GRASS, POISON, FLYING, BUG, DRAGON, STEEL}, new PokemonType[]{});
+    chart(BUG, new PokemonType[]{GRASS, PSYCHIC, DARK},
+        new PokemonType[]{FIRE, FIGHTING, POISON, FLYING, GHOST, STEEL, FAIRY}, new PokemonType[]{});
+    chart(DRAGON, new PokemonType[]{DRAGON},
+        new PokemonType[]{STEEL}, new PokemonType[]{FAIRY});
+    chart(FLYING, new PokemonType[]{GRASS, FIGHTING, BUG},
+        new PokemonType[]{ELECTRIC, ROCK, STEEL}, new PokemonType[]{});
+    chart(POISON, new PokemonType[]{GRASS, FAIRY},
+        new PokemonType[]{POISON, GROUND, ROCK, GHOST}, new PokemonType[]{STEEL});
+    chart(ELECTRIC, new PokemonType[]{WATER, FLYING},
+        new PokemonType[]{ELECTRIC, GRASS, DRAGON}, new PokemonType[]{GROUND});
+    chart(GROUND, new PokemonType[]{FIRE, ELECTRIC, POISON, ROCK, STEEL},
+        new PokemonType[]{GRASS, BUG}, new PokemonType[]{FLYING});
+    chart(ROCK, new PokemonType[]{FIRE, ICE, FLYING, BUG},
+        new PokemonType[]{FIGHTING, GROUND, STEEL}, new PokemonType[]{});
+    chart(STEEL, new PokemonType[]{ICE, ROCK, FAIRY},
+        new PokemonType[]{FIRE, WATER, ELECTRIC, STEEL}, new PokemonType[]{});
+    chart(FIGHTING, new PokemonType[]{NORMAL, ICE, ROCK, DARK, STEEL},
+        new PokemonType[]{POISON, FLYING, PSYCHIC, BUG, FAIRY}, new PokemonType[]{GHOST});
+    chart(PSYCHIC, new PokemonType[]{FIGHTING, POISON},
+        new PokemonType[]{PSYCHIC, STEEL}, new PokemonType[]{DARK});
+    chart(GHOST, new PokemonType[]{PSYCHIC, GHOST},
+        new PokemonType[]{DARK}, new PokemonType[]{NORMAL});
+    chart(FAIRY, new PokemonType[]{FIGHTING, DRAGON, DARK},
+        new PokemonType[]{FIRE, POISON, STEEL}, new PokemonType[]{});
+    chart(DARK, new PokemonType[]{PSYCHIC, GHOST},
+        new PokemonType[]{FIGHTING, DARK, FAIRY}, new PokemonType[]{});
+  }
+
+  private static void chart(PokemonType attacker, PokemonType[] superEffective,
+      PokemonType[] notVeryEffective, PokemonType[] immune) {
+    int row = attacker.ordinal() * COUNT;
+    for (PokemonType defender : superEffective) {
+      EFFECTIVENESS[row + defender.ordinal()] = 2f;
+    }
+    for (PokemonType defender : notVeryEffective) {
+      EFFECTIVENESS[row + defender.ordinal()] = 0.5f;
+    }
+    for (PokemonType defender : immune) {
+      EFFECTIVENESS[row + defender.ordinal()] = 0f;
+    }
+  }
+
+  /**
+   * Vraća množitelj štete napada ovog tipa protiv Pokemona datog tipa.
+   *
+   * @param targetType tip Pokemona koji se napada
+   * @return 2 (posebno učinkovit), 1, 0.5 (slabo učinkovit) ili 0 (bez učinka)
+   */
+  public float effectivenessAgainst(PokemonType targetType) {
+    return EFFECTIVENESS[ordinal() * COUNT + targetType.ordinal()];
+  }
+
+  /**
+   * Vraća množitelj štete napada ovog tipa protiv Pokemona sa dva tipa. Množitelji za oba tipa se
+   * množe, pa rezultat može biti i 4 ili 0.25.
+   *
+   * @param targetType          primarni tip Pokemona koji se napada
+   * @param secondaryTargetType sekundarni tip, ili null ako ga Pokemon nema
+   * @return množitelj štete
+   */
+  public float effectivenessAgainst(PokemonType targetType, PokemonType secondaryTargetType) {
+    float effectiveness = effectivenessAgainst(targetType);
+    return secondaryTargetType == null ? effectiveness
+        : effectiveness * effectivenessAgainst(secondaryTargetType);
+  }
+
   /**
    * Provjerava učinkovitost dvaju tipova. Koristi se provjere tipa napadačke vještine vs. tipa
    * Pokemona koji se napada.
@@ -32,25 +121,6 @@ public enum PokemonType {
    * @return true ako je ovaj tip posebno efektivan protiv targetType-a, false inače
    */
   public boolean isSuperEffective(PokemonType targetType) {
-    switch (this) {
-      case NORMAL:
-        return false; // NORMAL nikad nije posebno efektivan
-      case FIRE:
-        if (targetType == GRASS) {
-          return true;
-        }
-        break;
-      case WATER:
-        if (targetType == FIRE) {
-          return true;
-        }
-        break;
-      case GRASS:
-        if (targetType == WATER) {
-          return true;
-        }
-        break;
-    }
-    return false;
+    return effectivenessAgainst(targetType) > 1f;
   }
 }
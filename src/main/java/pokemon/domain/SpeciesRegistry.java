@@ -0,0 +1,133 @@
+package pokemon.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * <b>SpeciesRegistry</b> je zajednički, memorizirajući registar Pokemon vrsta. Vrste se učitavaju
+ * tek kod prvog poziva (lazy), i to samo jednom, putem zadatog PokemonSpeciesLoader-a. Svi
+ * korisnici registra potom dijele isti nepromjenjivi snapshot vrsta, pa npr. početak borbe više ne
+ * ovisi o mreži niti o parsiranju HTML-a.
+ * <p>
+ * Registar je thread-safe. Metoda {@link #refresh()} ponovno učitava vrste, te atomarno zamjenjuje
+ * snapshot; dotad svi korisnici i dalje dobivaju stari snapshot.
+ */
+public class SpeciesRegistry implements PokemonSpeciesLoader {
+
+  private final PokemonSpeciesLoader loader;
+  private volatile Snapshot snapshot;
+
+  public SpeciesRegistry(PokemonSpeciesLoader loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * Nepromjenjivi skup učitanih vrsta: mapa po ID-u, te lista istih vrsta za pristup po indeksu.
+   */
+  private static final class Snapshot {
+
+    private final NavigableMap<Integer, PokemonSpecies> speciesMap;
+    private final List<PokemonSpecies> speciesList;
+
+    private Snapshot(TreeMap<Integer, PokemonSpecies> species) {
+      this.speciesMap = Collections.unmodifiableNavigableMap(species);
+      this.speciesList = Collections.unmodifiableList(new ArrayList<>(species.values()));
+    }
+  }
+
+  /**
+   * Vraća trenutni snapshot vrsta. Ako vrste još nisu učitane, učitava ih (samo jedan thread vrši
+   * učitavanje; ostali čekaju na njegov rezultat). Ako loader ne vrati nijednu vrstu (npr. zbog
+   * greške u mreži), prazan rezultat se vraća samo tom pozivu, a ne pamti se, pa sljedeći poziv
+   * ponovno pokušava učitavanje.
+   *
+   * @return trenutni snapshot
+   */
+  private Snapshot snapshot() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      synchronized (this) {
+        current = snapshot;
+        if (current == null) {
+          TreeMap<Integer, PokemonSpecies> species = new TreeMap<>(loader.getPokemonSpecies());
+          current = new Snapshot(species);
+          if (!species.isEmpty()) {
+            snapshot = current;
+          }
+        }
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Vraća nepromjenjivu mapu vrsta, sortiranu po ID-u. Ne kreira kopiju, pa je pogodna za česte
+   * pozive.
+   *
+   * @return nepromjenjiva mapa vrsta
+   */
+  public NavigableMap<Integer, PokemonSpecies> getSnapshot() {
+    return snapshot().speciesMap;
+  }
+
+  /**
+   * Vraća kopiju trenutnog snapshota. Kopija se kreira zbog ugovora interfejsa, koji vraća
+   * (promjenjivi) TreeMap; izmjene kopije ne utječu na registar.
+   *
+   * @return TreeMap objekat sa svim vrstama
+   */
+  @Override
+  public TreeMap<Integer, PokemonSpecies> getPokemonSpecies() {
+    return new TreeMap<>(snapshot().speciesMap);
+  }
+
+  /**
+   * Vraća nepromjenjivu listu vrsta, poredanih po ID-u, bez kreiranja kopije.
+   *
+   * @return nepromjenjiva lista vrsta
+   */
+  @Override
+  public List<PokemonSpecies> getSpeciesList() {
+    return snapshot().speciesList;
+  }
+
+  /**
+   * Vraća vrstu sa datim ID-om iz trenutnog snapshota, bez kreiranja kopije.
+   *
+   * @param id ID vrste
+   * @return PokemonSpecies objekat, ili null ako vrsta sa datim ID-om ne postoji
+   */
+  @Override
+  public PokemonSpecies getSpecies(int id) {
+    return snapshot().speciesMap.get(id);
+  }
+
+  /**
+   * Ponovno učitava vrste putem loadera zadatog u konstruktoru. Vidjeti
+   * {@link #refresh(PokemonSpeciesLoader)}.
+   *
+   * @return true ako je snapshot zamijenjen, false inače
+   */
+  public boolean refresh() {
+    return refresh(loader);
+  }
+
+  /**
+   * Učitava vrste putem datog loadera, te atomarno zamjenjuje trenutni snapshot. Ako loader ne
+   * vrati nijednu vrstu (npr. zbog greške u mreži), zadržava se postojeći snapshot.
+   *
+   * @param source loader iz kojeg se učitavaju nove vrste
+   * @return true ako je snapshot zamijenjen, false inače
+   */
+  public synchronized boolean refresh(PokemonSpeciesLoader source) {
+    TreeMap<Integer, PokemonSpecies> species = source.getPokemonSpecies();
+    if (species.isEmpty() && snapshot != null) {
+      return false;
+    }
+    snapshot = new Snapshot(new TreeMap<>(species));
+    return true;
+  }
+}
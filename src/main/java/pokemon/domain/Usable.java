@@ -23,4 +23,27 @@ public interface Usable {
    */
   String use(Pokemon user, Pokemon target);
 
+  /**
+   * Isto kao {@link #use(Pokemon, Pokemon)}, ali se ishod upotrebe upisuje u dati događaj, umjesto
+   * da se odmah formatira poruka. Poruka se po potrebi kasnije kreira putem
+   * {@link BattleEvent#render()}.
+   *
+   * @param user   Pokemon A koji koristi objekat
+   * @param target Pokemon B; objekat može, ali ne mora utjecati na njega
+   * @param event  događaj u koji se upisuje ishod upotrebe
+   */
+  default void use(Pokemon user, Pokemon target, BattleEvent event) {
+    event.message(user, target, this, use(user, target));
+  }
+
+  /**
+   * Kreira poruku koja opisuje dati događaj, nastao upotrebom ovog objekta.
+   *
+   * @param event događaj
+   * @return poruka koja opisuje ishod upotrebe
+   */
+  default String render(BattleEvent event) {
+    return event.getMessage();
+  }
+
 }
@@ -0,0 +1,66 @@
+package pokemon.domain.ai;
+
+import pokemon.domain.EnemyPolicy;
+
+/**
+ * Težina igre, tj. način na koji neprijatelj bira vještine.
+ */
+public enum Difficulty {
+
+  /**
+   * Neprijatelj bira nasumično.
+   */
+  EASY("Easy"),
+  /**
+   * Neprijatelj predviđa dva poteza unaprijed.
+   */
+  NORMAL("Normal"),
+  /**
+   * Neprijatelj predviđa onoliko poteza koliko stigne unutar vremenskog budžeta.
+   */
+  HARD("Hard"),
+  /**
+   * Neprijatelj bira Monte Carlo pretraživanjem, na svim procesorskim jezgrama.
+   */
+  EXPERT("Expert");
+
+  /**
+   * Vremenski budžet za odabir jedne neprijateljeve vještine, u milisekundama.
+   */
+  public static final long MOVE_BUDGET_MILLIS = 5;
+  /**
+   * Vremenski budžet za Monte Carlo pretraživanje, u milisekundama. Pretraživanje se izvršava van
+   * JavaFX threada, pa budžet može biti veći.
+   */
+  public static final long MCTS_BUDGET_MILLIS = 100;
+
+  private final String displayName;
+
+  Difficulty(String displayName) {
+    this.displayName = displayName;
+  }
+
+  /**
+   * Kreira strategiju neprijatelja za ovu težinu. Strategija može imati stanje, pa se za svaku
+   * borbu kreira nova.
+   *
+   * @return strategija neprijatelja
+   */
+  public EnemyPolicy createPolicy() {
+    switch (this) {
+      case NORMAL:
+        return new ExpectimaxPolicy(MOVE_BUDGET_MILLIS, 2);
+      case HARD:
+        return new ExpectimaxPolicy(MOVE_BUDGET_MILLIS, Byte.MAX_VALUE);
+      case EXPERT:
+        return new MctsPolicy(MCTS_BUDGET_MILLIS);
+      default:
+        return EnemyPolicy.RANDOM;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return displayName;
+  }
+}
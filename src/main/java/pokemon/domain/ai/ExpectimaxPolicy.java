@@ -0,0 +1,246 @@
+package pokemon.domain.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.EnemyPolicy;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.items.Item;
+
+/**
+ * <b>ExpectimaxPolicy</b> bira neprijateljevu vještinu expectimax pretraživanjem stabla borbe.
+ * Neprijatelj bira vještinu koja mu donosi najveću očekivanu vrijednost, pri čemu se pretpostavlja
+ * da igrač nasumično (uniformno) bira neku od svojih vještina ili preostalih predmeta. Stanje borbe
+ * čine HP oba Pokemona i količine igračevih predmeta; učinci vještina i predmeta su
+ * deterministički, pa se simuliraju na privremenim kopijama Pokemona i predmeta.
+ * <p>
+ * Pretraživanje je iterativno produbljivanje: dubina (broj neprijateljevih poteza) se povećava dok
+ * ne istekne vremenski budžet, a koristi se rezultat posljednje završene dubine. Već izračunata
+ * stanja pamte se u transpozicijskoj tablici sa otvorenim adresiranjem, u primitivnim nizovima,
+ * pod Zobrist hashom stanja. Tablica se zadržava između poteza iste borbe.
+ * <p>
+ * Objekat čuva stanje pretraživanja, pa ga nije moguće dijeliti između borbi koje se odvijaju
+ * istovremeno.
+ */
+public class ExpectimaxPolicy implements EnemyPolicy {
+
+  private static final int TABLE_SIZE = 1 << 16;
+  private static final int TABLE_MASK = TABLE_SIZE - 1;
+  private static final int PROBES = 4;
+  private static final int TIME_CHECK_INTERVAL = 256;
+
+  private final long budgetNanos;
+  private final int maxDepth;
+
+  // Transpozicijska tablica: ključ 0 označava prazno mjesto. Vrijednost je egzaktna ako je
+  // pretraživanje ispod stanja došlo do kraja borbe u svim granama, tj. nije ograničeno dubinom.
+  private final long[] tableKeys = new long[TABLE_SIZE];
+  private final float[] tableValues = new float[TABLE_SIZE];
+  private final byte[] tableDepths = new byte[TABLE_SIZE];
+  private final boolean[] tableExact = new boolean[TABLE_SIZE];
+
+  // Zobrist ključevi za HP oba Pokemona, te za količinu svakog predmeta.
+  private long[] playerHpKeys;
+  private long[] enemyHpKeys;
+  private long[][] itemKeys;
+
+  private SimulatedBattle battle;
+
+  private long deadline;
+  private int nodeCount;
+  private boolean timeUp;
+  private boolean depthLimited;
+  private int lastDepth;
+
+  /**
+   * @param budgetMillis vremenski budžet po odabiru vještine, u milisekundama
+   * @param maxDepth     maksimalna dubina pretraživanja (broj neprijateljevih poteza)
+   */
+  public ExpectimaxPolicy(long budgetMillis, int maxDepth) {
+    this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    this.maxDepth = Math.min(maxDepth, Byte.MAX_VALUE);
+  }
+
+  /**
+   * @return dubina posljednjeg potpuno završenog pretraživanja
+   */
+  public int getLastDepth() {
+    return lastDepth;
+  }
+
+  @Override
+  public int chooseMove(Pokemon enemy, Pokemon player, Inventory inventory, BattleRandom random) {
+    setUp(enemy, player, inventory);
+    deadline = System.nanoTime() + budgetNanos;
+    nodeCount = 0;
+    timeUp = false;
+    lastDepth = 0;
+
+    // Ako ni dubina 1 ne završi na vrijeme, bira se nasumično.
+    int bestMove = random.nextInt(battle.enemyMoveCount);
+    for (int depth = 1; depth <= maxDepth; depth++) {
+      depthLimited = false;
+      int move = searchRoot(depth);
+      if (timeUp) {
+        break;
+      }
+      bestMove = move;
+      lastDepth = depth;
+      if (!depthLimited) {
+        break; // cijelo stablo je pretraženo, dublje pretraživanje ne mijenja rezultat
+      }
+    }
+    return bestMove;
+  }
+
+  /**
+   * Kreira privremene kopije Pokemona i predmeta. Ako je riječ o istoj borbi kao i kod prethodnog
+   * poziva, transpozicijska tablica i Zobrist ključevi se zadržavaju.
+   */
+  private void setUp(Pokemon enemy, Pokemon player, Inventory inventory) {
+    if (battle == null || !battle.matches(enemy, player, inventory)) {
+      battle = new SimulatedBattle(enemy, player, inventory);
+
+      SplittableRandom keys = new SplittableRandom(0x5EED);
+      playerHpKeys = keys.longs(Math.max(player.getHealth(), player.getMaxHealth()) + 1).toArray();
+      enemyHpKeys = keys.longs(Math.max(enemy.getHealth(), enemy.getMaxHealth()) + 1).toArray();
+      ArrayList<Item> inventoryItems = inventory.getItems();
+      itemKeys = new long[inventoryItems.size()][];
+      for (int i = 0; i < itemKeys.length; i++) {
+        itemKeys[i] = keys.longs(inventoryItems.get(i).getQuantity() + 1).toArray();
+      }
+      Arrays.fill(tableKeys, 0L);
+    }
+    battle.load(inventory);
+  }
+
+  private int searchRoot(int depth) {
+    int bestMove = 0;
+    float bestValue = Float.NEGATIVE_INFINITY;
+    for (int move = 0; move < battle.enemyMoveCount; move++) {
+      float value = enemyMoveValue(move, depth);
+      if (timeUp) {
+        return bestMove;
+      }
+      if (value > bestValue) {
+        bestValue = value;
+        bestMove = move;
+      }
+    }
+    return bestMove;
+  }
+
+  /**
+   * Čvor u kojem neprijatelj bira vještinu (max čvor). Vrijednost iz tablice se koristi ako je
+   * egzaktna, ili izračunata na barem jednakoj dubini; u potonjem slučaju je i rezultat ograničen
+   * dubinom, pa se to prenosi u {@code depthLimited}, kao da je stablo ponovno pretraženo.
+   */
+  private float enemyNode(int depth) {
+    if (depth == 0) {
+      depthLimited = true;
+      return battle.evaluate();
+    }
+    long key = hash();
+    int slot = probe(key);
+    if (tableKeys[slot] == key && (tableExact[slot] || tableDepths[slot] >= depth)) {
+      depthLimited |= !tableExact[slot];
+      return tableValues[slot];
+    }
+
+    // Za tablicu se bilježi da li je ograničeno upravo ovo podstablo.
+    boolean outerDepthLimited = depthLimited;
+    depthLimited = false;
+    float best = Float.NEGATIVE_INFINITY;
+    for (int move = 0; move < battle.enemyMoveCount && !timeUp; move++) {
+      best = Math.max(best, enemyMoveValue(move, depth));
+    }
+    if (!timeUp) {
+      store(slot, key, best, depth, !depthLimited);
+    }
+    depthLimited |= outerDepthLimited;
+    return best;
+  }
+
+  /**
+   * Vrijednost neprijateljeve vještine: vještina se upotrijebi, a potom slijedi čvor u kojem igrač
+   * nasumično bira potez (chance čvor).
+   */
+  private float enemyMoveValue(int move, int depth) {
+    if (++nodeCount % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+      timeUp = true;
+      return 0f;
+    }
+    Pokemon player = battle.player;
+    Pokemon enemy = battle.enemy;
+    int playerHealth = player.getHealth();
+    int enemyHealth = enemy.getHealth();
+    battle.enemyMove(move);
+    float value = battle.isOver() ? battle.terminalValue() : playerNode(depth);
+    player.setHealth(playerHealth);
+    enemy.setHealth(enemyHealth);
+    return value;
+  }
+
+  /**
+   * Chance čvor: prosjek vrijednosti svih igračevih mogućih poteza.
+   */
+  private float playerNode(int depth) {
+    Pokemon player = battle.player;
+    Pokemon enemy = battle.enemy;
+    float sum = 0f;
+    int actions = 0;
+    int playerHealth = player.getHealth();
+    int enemyHealth = enemy.getHealth();
+    for (int action = 0; action < battle.playerActionCount() && !timeUp; action++) {
+      if (!battle.playerAction(action)) {
+        continue;
+      }
+      sum += battle.isOver() ? battle.terminalValue() : enemyNode(depth - 1);
+      actions++;
+
+      player.setHealth(playerHealth);
+      enemy.setHealth(enemyHealth);
+      if (action >= battle.playerMoveCount) {
+        Item item = battle.items[action - battle.playerMoveCount];
+        item.setQuantity(item.getQuantity() + 1);
+      }
+    }
+    return actions == 0 ? battle.evaluate() : sum / actions;
+  }
+
+  private long hash() {
+    long key = playerHpKeys[battle.player.getHealth()] ^ enemyHpKeys[battle.enemy.getHealth()];
+    Item[] items = battle.items;
+    for (int i = 0; i < items.length; i++) {
+      if (items[i] != null) {
+        key ^= itemKeys[i][items[i].getQuantity()];
+      }
+    }
+    return key == 0 ? 1 : key;
+  }
+
+  /**
+   * Traži mjesto u tablici za dati ključ: mjesto sa istim ključem, prazno mjesto, ili (ako je
+   * nijedno od toga) prvo mjesto u nizu, koje će biti prepisano.
+   */
+  private int probe(long key) {
+    int index = (int) (key ^ (key >>> 32)) & TABLE_MASK;
+    for (int i = 0; i < PROBES; i++) {
+      int slot = (index + i) & TABLE_MASK;
+      if (tableKeys[slot] == key || tableKeys[slot] == 0) {
+        return slot;
+      }
+    }
+    return index;
+  }
+
+  private void store(int slot, long key, float value, int depth, boolean exact) {
+    tableKeys[slot] = key;
+    tableValues[slot] = value;
+    tableDepths[slot] = (byte) depth;
+    tableExact[slot] = exact;
+  }
+}
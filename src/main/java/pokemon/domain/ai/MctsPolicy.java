@@ -0,0 +1,347 @@
+package pokemon.domain.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.EnemyPolicy;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.items.Item;
+
+/**
+ * <b>MctsPolicy</b> bira neprijateljevu vještinu Monte Carlo pretraživanjem stabla (MCTS, UCT).
+ * Stablo sadrži samo neprijateljeve odluke; igračev potez se u svakoj iteraciji nasumično
+ * (uniformno) bira između njegovih vještina i preostalih predmeta, kao i u {@link ExpectimaxPolicy}.
+ * Iz lista stabla borba se do kraja odigrava nasumičnim potezima oba Pokemona (playout).
+ * <p>
+ * Pretraživanje je paralelizirano po korijenu: svaki thread gradi svoje stablo na svojim kopijama
+ * borbe i sa svojim izvorom slučajnih brojeva, a na kraju se zbrajaju brojevi posjeta vještina u
+ * korijenu. Threadovi se zaustavljaju kada istekne vremenski budžet; thread koji ne završi na
+ * vrijeme se zanemaruje, pa metoda {@link #chooseMove} uvijek završava unutar budžeta. Budžet je
+ * stvarno vrijeme čekanja, pa metodu ne treba pozivati iz JavaFX threada.
+ * <p>
+ * Broj playout-a po threadu se može i ograničiti. Ako thread dosegne ograničenje prije isteka
+ * budžeta, njegov rezultat ovisi samo o izvoru slučajnih brojeva, a ne o brzini računala, što
+ * omogućuje ponovljive testove.
+ * <p>
+ * Objekat čuva stanje pretraživanja, pa ga nije moguće dijeliti između borbi koje se odvijaju
+ * istovremeno.
+ */
+public class MctsPolicy implements EnemyPolicy {
+
+  private static final int MAX_NODES = 1 << 14;
+  private static final int MAX_TREE_DEPTH = 64;
+  private static final int MAX_PLAYOUT_TURNS = 64;
+  private static final float EXPLORATION = 1f;
+  // Vrijeme koje se ostavlja za zbrajanje rezultata threadova.
+  private static final long MERGE_RESERVE_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+  private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+  private static final ExecutorService EXECUTOR;
+
+  static {
+    AtomicInteger threadCount = new AtomicInteger();
+    EXECUTOR = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+      Thread thread = new Thread(runnable, "mcts-worker-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private final long budgetNanos;
+  private final int threads;
+  private final long maxPlayouts;
+  private Worker[] workers;
+  private long lastPlayouts;
+  private double lastPlayoutsPerSecond;
+
+  /**
+   * Kreira strategiju koja koristi sve procesorske jezgre.
+   *
+   * @param budgetMillis vremenski budžet po odabiru vještine, u milisekundama
+   */
+  public MctsPolicy(long budgetMillis) {
+    this(budgetMillis, POOL_SIZE);
+  }
+
+  /**
+   * @param budgetMillis vremenski budžet po odabiru vještine, u milisekundama
+   * @param threads      broj threadova, najviše broj procesorskih jezgri
+   */
+  public MctsPolicy(long budgetMillis, int threads) {
+    this(budgetMillis, threads, Long.MAX_VALUE);
+  }
+
+  /**
+   * @param budgetMillis vremenski budžet po odabiru vještine, u milisekundama
+   * @param threads      broj threadova, najviše broj procesorskih jezgri
+   * @param maxPlayouts  najveći broj playout-a po threadu u jednom odabiru vještine
+   */
+  public MctsPolicy(long budgetMillis, int threads, long maxPlayouts) {
+    this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    this.threads = Math.max(1, Math.min(threads, POOL_SIZE));
+    this.maxPlayouts = maxPlayouts;
+  }
+
+  /**
+   * @return ukupan broj playout-a (iteracija) svih threadova u posljednjem odabiru vještine
+   */
+  public long getLastPlayouts() {
+    return lastPlayouts;
+  }
+
+  /**
+   * @return broj playout-a u sekundi, svih threadova zajedno, u posljednjem odabiru vještine
+   */
+  public double getPlayoutsPerSecond() {
+    return lastPlayoutsPerSecond;
+  }
+
+  @Override
+  public int chooseMove(Pokemon enemy, Pokemon player, Inventory inventory, BattleRandom random) {
+    int moveCount = enemy.getMoves().size();
+    if (moveCount == 1) {
+      return 0;
+    }
+    long start = System.nanoTime();
+    long deadline = start + budgetNanos;
+    long workerDeadline = deadline - Math.min(MERGE_RESERVE_NANOS, budgetNanos / 2);
+
+    if (workers == null || !workers[0].battle.matches(enemy, player, inventory)) {
+      workers = new Worker[threads];
+      for (int i = 0; i < threads; i++) {
+        workers[i] = new Worker(new SimulatedBattle(enemy, player, inventory));
+      }
+    }
+    List<Future<Worker>> futures = new ArrayList<>(threads);
+    for (Worker worker : workers) {
+      worker.prepare(inventory, random.split(), workerDeadline, maxPlayouts);
+      futures.add(EXECUTOR.submit(worker));
+    }
+
+    long[] visits = new long[moveCount];
+    long playouts = 0;
+    boolean abandoned = false;
+    for (Future<Worker> future : futures) {
+      try {
+        Worker worker = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        worker.addRootVisits(visits);
+        playouts += worker.playouts;
+      } catch (TimeoutException timeoutEx) {
+        // Thread još radi nad svojim kopijama, pa se za idući odabir kreiraju nove.
+        future.cancel(true);
+        abandoned = true;
+      } catch (InterruptedException interruptEx) {
+        Thread.currentThread().interrupt();
+        future.cancel(true);
+        abandoned = true;
+      } catch (ExecutionException workerEx) {
+        throw new IllegalStateException("MCTS worker failed", workerEx.getCause());
+      }
+    }
+    if (abandoned) {
+      workers = null;
+    }
+    lastPlayouts = playouts;
+    lastPlayoutsPerSecond = playouts / ((System.nanoTime() - start) / 1e9);
+
+    int bestMove = -1;
+    long bestVisits = 0;
+    for (int move = 0; move < moveCount; move++) {
+      if (visits[move] > bestVisits) {
+        bestVisits = visits[move];
+        bestMove = move;
+      }
+    }
+    // Ako nijedan thread nije stigao ništa izračunati, bira se nasumično.
+    return bestMove < 0 ? random.nextInt(moveCount) : bestMove;
+  }
+
+  /**
+   * Jedan thread pretraživanja. Stablo se čuva u primitivnim nizovima: djeca čvora zauzimaju
+   * uzastopna mjesta (po jedno za svaku neprijateljevu vještinu), počevši od firstChild[čvor].
+   * Vrijednosti su iz neprijateljeve perspektive.
+   */
+  private static final class Worker implements Callable<Worker> {
+
+    private final SimulatedBattle battle;
+    private final int moveCount;
+    private final int[] visits = new int[MAX_NODES];
+    private final float[] values = new float[MAX_NODES];
+    private final int[] firstChild = new int[MAX_NODES];
+    private final int[] path = new int[MAX_TREE_DEPTH + 1];
+    private final int[] rootQuantities;
+    private int rootPlayerHealth;
+    private int rootEnemyHealth;
+    private int nodeCount;
+    private BattleRandom random;
+    private long deadline;
+    private long maxPlayouts;
+    private long playouts;
+
+    private Worker(SimulatedBattle battle) {
+      this.battle = battle;
+      this.moveCount = battle.enemyMoveCount;
+      this.rootQuantities = new int[battle.items.length];
+    }
+
+    /**
+     * Priprema pretraživanje; poziva se iz threada koji bira vještinu, prije pokretanja.
+     */
+    private void prepare(Inventory inventory, BattleRandom random, long deadline,
+        long maxPlayouts) {
+      battle.load(inventory);
+      rootPlayerHealth = battle.player.getHealth();
+      rootEnemyHealth = battle.enemy.getHealth();
+      for (int i = 0; i < rootQuantities.length; i++) {
+        rootQuantities[i] = battle.items[i] == null ? 0 : battle.items[i].getQuantity();
+      }
+      this.random = random;
+      this.deadline = deadline;
+      this.maxPlayouts = maxPlayouts;
+    }
+
+    @Override
+    public Worker call() {
+      nodeCount = 1;
+      visits[0] = 0;
+      firstChild[0] = -1;
+      playouts = 0;
+      while (playouts < maxPlayouts && System.nanoTime() < deadline) {
+        iterate();
+        playouts++;
+      }
+      return this;
+    }
+
+    private void addRootVisits(long[] rootVisits) {
+      int first = firstChild[0];
+      if (first >= 0) {
+        for (int move = 0; move < moveCount; move++) {
+          rootVisits[move] += visits[first + move];
+        }
+      }
+    }
+
+    /**
+     * Jedna iteracija: odabir puta kroz stablo (UCT), proširenje stabla, playout, te ažuriranje
+     * vrijednosti na putu.
+     */
+    private void iterate() {
+      restoreRoot();
+      int node = 0;
+      int depth = 0;
+      float value;
+      while (true) {
+        if (firstChild[node] < 0) {
+          if (depth == MAX_TREE_DEPTH || nodeCount + moveCount > MAX_NODES) {
+            value = playout();
+            break;
+          }
+          expand(node);
+        }
+        int child = select(node);
+        path[++depth] = child;
+        battle.enemyMove(child - firstChild[node]);
+        if (battle.isOver()) {
+          value = battle.terminalValue();
+          break;
+        }
+        randomPlayerAction();
+        if (battle.isOver()) {
+          value = battle.terminalValue();
+          break;
+        }
+        if (visits[child] == 0) {
+          value = playout();
+          break;
+        }
+        node = child;
+      }
+
+      visits[0]++;
+      for (int i = 1; i <= depth; i++) {
+        visits[path[i]]++;
+        values[path[i]] += value;
+      }
+    }
+
+    private void expand(int node) {
+      firstChild[node] = nodeCount;
+      for (int i = nodeCount; i < nodeCount + moveCount; i++) {
+        visits[i] = 0;
+        values[i] = 0f;
+        firstChild[i] = -1;
+      }
+      nodeCount += moveCount;
+    }
+
+    /**
+     * Bira dijete sa najvećom UCT vrijednošću; dijete koje još nije posjećeno ima prednost.
+     */
+    private int select(int node) {
+      int first = firstChild[node];
+      float logVisits = (float) Math.log(Math.max(1, visits[node]));
+      int best = first;
+      float bestScore = Float.NEGATIVE_INFINITY;
+      for (int child = first; child < first + moveCount; child++) {
+        if (visits[child] == 0) {
+          return child;
+        }
+        float score = values[child] / visits[child]
+            + EXPLORATION * (float) Math.sqrt(logVisits / visits[child]);
+        if (score > bestScore) {
+          bestScore = score;
+          best = child;
+        }
+      }
+      return best;
+    }
+
+    /**
+     * Odigrava borbu nasumičnim potezima do kraja, ili do najviše MAX_PLAYOUT_TURNS poteza.
+     */
+    private float playout() {
+      for (int turn = 0; turn < MAX_PLAYOUT_TURNS; turn++) {
+        battle.enemyMove(random.nextInt(moveCount));
+        if (battle.isOver()) {
+          return battle.terminalValue();
+        }
+        randomPlayerAction();
+        if (battle.isOver()) {
+          return battle.terminalValue();
+        }
+      }
+      return battle.evaluate();
+    }
+
+    /**
+     * Igrač izvršava nasumičnu akciju; vještine su uvijek dostupne, pa petlja završava.
+     */
+    private void randomPlayerAction() {
+      int actionCount = battle.playerActionCount();
+      while (!battle.playerAction(random.nextInt(actionCount))) {
+        // potrošen predmet, bira se ponovno
+      }
+    }
+
+    private void restoreRoot() {
+      battle.player.setHealth(rootPlayerHealth);
+      battle.enemy.setHealth(rootEnemyHealth);
+      Item[] items = battle.items;
+      for (int i = 0; i < items.length; i++) {
+        if (items[i] != null) {
+          items[i].setQuantity(rootQuantities[i]);
+        }
+      }
+    }
+  }
+}
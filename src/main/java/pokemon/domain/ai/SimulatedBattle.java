@@ -0,0 +1,133 @@
+package pokemon.domain.ai;
+
+import java.util.ArrayList;
+import pokemon.domain.BattleEvent;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.items.Bomb;
+import pokemon.domain.items.Item;
+import pokemon.domain.items.Potion;
+
+/**
+ * Privremene kopije Pokemona i igračevih predmeta, na kojima strategije neprijatelja simuliraju
+ * poteze, bez mijenjanja stvarne borbe. Stanje borbe čine HP oba Pokemona i količine predmeta;
+ * učinci vještina i predmeta su deterministički, pa se stanje vraća jednostavnim postavljanjem
+ * zapamćenih vrijednosti.
+ * <p>
+ * Igračeve akcije su numerirane kao u {@link pokemon.replay.BattleRecord}: prvo vještine, a potom
+ * predmeti, redom kojim su u inventaru.
+ */
+final class SimulatedBattle {
+
+  static final float WIN = 1f;
+
+  final Pokemon realPlayer;
+  final Pokemon realEnemy;
+  final Pokemon player;
+  final Pokemon enemy;
+  final Item[] items; // null za predmete čiji učinak nije poznat
+  final int playerMoveCount;
+  final int enemyMoveCount;
+  private final BattleEvent event = new BattleEvent();
+
+  SimulatedBattle(Pokemon enemy, Pokemon player, Inventory inventory) {
+    this.realEnemy = enemy;
+    this.realPlayer = player;
+    this.enemy = copyOf(enemy);
+    this.player = copyOf(player);
+    this.playerMoveCount = player.getMoves().size();
+    this.enemyMoveCount = enemy.getMoves().size();
+    ArrayList<Item> inventoryItems = inventory.getItems();
+    this.items = new Item[inventoryItems.size()];
+    for (int i = 0; i < items.length; i++) {
+      items[i] = copyOf(inventoryItems.get(i));
+    }
+  }
+
+  /**
+   * @return true ako su kopije napravljene za iste Pokemone i inventar iste veličine
+   */
+  boolean matches(Pokemon enemy, Pokemon player, Inventory inventory) {
+    return enemy == realEnemy && player == realPlayer && items.length == inventory.getItems().size();
+  }
+
+  /**
+   * Postavlja kopijama trenutni HP Pokemona i količine predmeta iz stvarne borbe.
+   */
+  void load(Inventory inventory) {
+    enemy.setHealth(realEnemy.getHealth());
+    player.setHealth(realPlayer.getHealth());
+    ArrayList<Item> inventoryItems = inventory.getItems();
+    for (int i = 0; i < items.length; i++) {
+      if (items[i] != null) {
+        items[i].setQuantity(inventoryItems.get(i).getQuantity());
+      }
+    }
+  }
+
+  int playerActionCount() {
+    return playerMoveCount + items.length;
+  }
+
+  void enemyMove(int move) {
+    enemy.useMove(move, player, event);
+  }
+
+  /**
+   * Igrač izvršava datu akciju.
+   *
+   * @return false ako akciju nije moguće izvršiti (predmet je potrošen ili se ne simulira)
+   */
+  boolean playerAction(int action) {
+    if (action < playerMoveCount) {
+      player.useMove(action, enemy, event);
+      return true;
+    }
+    Item item = items[action - playerMoveCount];
+    if (item == null || item.getQuantity() == 0) {
+      return false;
+    }
+    item.use(player, enemy, event);
+    return true;
+  }
+
+  boolean isOver() {
+    return player.isDefeated() || enemy.isDefeated();
+  }
+
+  /**
+   * Vrijednost završenog stanja, iz neprijateljeve perspektive.
+   */
+  float terminalValue() {
+    if (enemy.isDefeated()) {
+      return player.isDefeated() ? 0f : -WIN;
+    }
+    return WIN;
+  }
+
+  /**
+   * Heuristička procjena nezavršenog stanja: razlika udjela preostalog HP-a, u rasponu (-0.5, 0.5).
+   */
+  float evaluate() {
+    return 0.5f * ((float) enemy.getHealth() / enemy.getMaxHealth()
+        - (float) player.getHealth() / player.getMaxHealth());
+  }
+
+  private static Pokemon copyOf(Pokemon pokemon) {
+    return new Pokemon(pokemon.getId(), pokemon.getNickname(), pokemon.getHealth(),
+        pokemon.getMaxHealth(), pokemon.getType(), pokemon.getSpecies(),
+        new ArrayList<>(pokemon.getMoves()));
+  }
+
+  /**
+   * Kopira predmet; predmeti čiji učinak nije poznat se ne simuliraju (null).
+   */
+  private static Item copyOf(Item item) {
+    if (item instanceof Potion) {
+      return new Potion(item.getQuantity());
+    } else if (item instanceof Bomb) {
+      return new Bomb(item.getQuantity());
+    }
+    return null;
+  }
+}
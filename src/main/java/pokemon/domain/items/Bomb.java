@@ -1,5 +1,6 @@
 package pokemon.domain.items;
 
+import pokemon.domain.BattleEvent;
 import pokemon.domain.Pokemon;
 
 /**
@@ -12,10 +13,15 @@ public class Bomb extends Item {
   }
 
   @Override
-  protected String useInternal(Pokemon user, Pokemon target) {
+  protected void useInternal(Pokemon user, Pokemon target, BattleEvent event) {
     target.setHealth(target.getHealth() - 40);
-    return String.format("%s throws a bomb at %s. It takes 40 damage!",
-            user.getNickname(), target.getNickname());
+    event.damage(user, target, this, 40, 1f);
+  }
+
+  @Override
+  public String render(BattleEvent event) {
+    return String.format("%s throws a bomb at %s. It takes %d damage!",
+            event.getActor().getNickname(), event.getTarget().getNickname(), event.getAmount());
   }
 
   @Override
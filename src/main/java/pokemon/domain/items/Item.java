@@ -1,5 +1,6 @@
 package pokemon.domain.items;
 
+import pokemon.domain.BattleEvent;
 import pokemon.domain.Pokemon;
 import pokemon.domain.Usable;
 
@@ -33,15 +34,38 @@ public abstract class Item implements Usable {
    */
   @Override
   public String use(Pokemon user, Pokemon target) {
+    BattleEvent event = new BattleEvent();
+    use(user, target, event);
+    return event.render();
+  }
+
+  /**
+   * Isto kao {@link #use(Pokemon, Pokemon)}, ali se ishod upisuje u dati događaj.
+   *
+   * @param user   Pokemon A koji koristi predmet
+   * @param target Pokemon B; predmet može, ali ne mora, imati učinak na njega
+   * @param event  događaj u koji se upisuje ishod upotrebe
+   */
+  @Override
+  public void use(Pokemon user, Pokemon target, BattleEvent event) {
     if (quantity < 1) {
       throw new IllegalStateException("There's nothing to decrement!");
     } else {
       quantity -= 1;
-      return useInternal(user, target);
+      useInternal(user, target, event);
     }
   }
 
-  protected abstract String useInternal(Pokemon user, Pokemon target);
+  /**
+   * Učinak predmeta. Ishod se upisuje u dati događaj, npr. putem
+   * {@link BattleEvent#heal(Pokemon, Usable, int)}, a poruka se kreira tek u
+   * {@link #render(BattleEvent)}.
+   *
+   * @param user   Pokemon A koji koristi predmet
+   * @param target Pokemon B; predmet može, ali ne mora, imati učinak na njega
+   * @param event  događaj u koji se upisuje ishod upotrebe
+   */
+  protected abstract void useInternal(Pokemon user, Pokemon target, BattleEvent event);
 
   @Override
   public String toString() {
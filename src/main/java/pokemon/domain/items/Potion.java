@@ -1,5 +1,6 @@
 package pokemon.domain.items;
 
+import pokemon.domain.BattleEvent;
 import pokemon.domain.Pokemon;
 
 /**
@@ -12,11 +13,16 @@ public class Potion extends Item {
   }
 
   @Override
-  protected String useInternal(Pokemon user, Pokemon target) {
+  protected void useInternal(Pokemon user, Pokemon target, BattleEvent event) {
     int currentHealth = user.getHealth();
     int maxHealth = user.getMaxHealth();
     user.setHealth(Math.min((currentHealth + 50), maxHealth));
-    return String.format("%s has restored 50 HP!", user.getNickname());
+    event.heal(user, this, 50);
+  }
+
+  @Override
+  public String render(BattleEvent event) {
+    return String.format("%s has restored %d HP!", event.getActor().getNickname(), event.getAmount());
   }
 
   @Override
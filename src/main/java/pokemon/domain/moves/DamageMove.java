@@ -1,5 +1,6 @@
 package pokemon.domain.moves;
 
+import pokemon.domain.BattleEvent;
 import pokemon.domain.Pokemon;
 import pokemon.domain.PokemonType;
 
@@ -32,30 +33,45 @@ public abstract class DamageMove extends Move {
    *   <li>Pokemonu B će se odrediti tip.</li>
    *   <li>Izračunat će količina štete koju je vještina uzrokovala. U slučaju
    *   da je vještina tog tipa koji je posebno efektivan protiv tipa kojem pripada Pokemon B (npr.
-   *   vještina je tipa WATER, a B je tipa FIRE), šteta se računa kao 2x. </li>
+   *   vještina je tipa WATER, a B je tipa FIRE), šteta se računa kao 2x, a ako je efektivna protiv
+   *   oba tipa Pokemona B, kao 4x. Slabo učinkovita vještina (npr. FIRE protiv WATER tipa) čini
+   *   0.5x, odnosno 0.25x štete, ali najmanje 1, a vještina bez učinka (npr. NORMAL protiv GHOST
+   *   tipa) ne čini štetu.</li>
    *   <li>Ažurira se, tj. oduzima trenutni HP Pokemona B.</li>
-   *   <li>Vraća se poruka o statusu korištenja vještine. U slučaju posebne učinkovitosti, dodaje se napomena
-   *   "It was super effective!".</li>
+   *   <li>Šteta i učinkovitost se upisuju u događaj. Poruka o statusu korištenja vještine
+   *   ({@link #render(BattleEvent)}) u slučaju posebne učinkovitosti sadrži i napomenu
+   *   "It was super effective!", a u slučaju slabe učinkovitosti, odnosno imuniteta, "It's not very
+   *   effective...", odnosno "It had no effect...".</li>
    * </ol>
    *
    * @param user   Pokemon koji koristi vještinu
    * @param target Pokemon koji je njena meta
-   * @return poruka o učinku vještine.
+   * @param event  događaj u koji se upisuje učinak vještine
    */
   @Override
-  public String use(Pokemon user, Pokemon target) {
-    PokemonType targetType = target.getType();
-    boolean superEffective = false;
-    int damage = getDamageAmount();
-    if (getDamageType().isSuperEffective(targetType)) {
-      damage *= 2;
-      superEffective = true;
-    }
+  public void use(Pokemon user, Pokemon target, BattleEvent event) {
+    float effectiveness = getDamageType().effectivenessAgainst(target.getType(),
+        target.getSecondaryType());
+    int damage = effectiveness == 0f ? 0
+        : Math.max(1, (int) (getDamageAmount() * effectiveness));
     target.setHealth(target.getHealth() - damage);
+    event.damage(user, target, this, damage, effectiveness);
+  }
+
+  @Override
+  public String render(BattleEvent event) {
     String info = String.format("%s used %s. %s takes %d damage!",
-            user.getNickname(), getName(), target.getNickname(), damage);
-    // Ako je napad bio posebno efektivan, dodat će se i ta informacija.
-    return superEffective ? info + "\nIt was super effective!" : info;
+            event.getActor().getNickname(), getName(), event.getTarget().getNickname(),
+            event.getAmount());
+    // Ako napad nije bio normalno efektivan, dodat će se i ta informacija.
+    if (event.isSuperEffective()) {
+      return info + "\nIt was super effective!";
+    } else if (event.getEffectiveness() == 0f) {
+      return info + "\nIt had no effect...";
+    } else if (event.getEffectiveness() < 1f) {
+      return info + "\nIt's not very effective...";
+    }
+    return info;
   }
 
   @Override
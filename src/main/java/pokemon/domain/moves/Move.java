@@ -1,12 +1,35 @@
 package pokemon.domain.moves;
 
+import pokemon.domain.BattleEvent;
+import pokemon.domain.Pokemon;
 import pokemon.domain.Usable;
 
 /**
  * Apstraktna klasa koja predstavlja vještine. Sve Pokemon vještine ju trebaju proširivati.
+ * Vještine ishod upotrebe upisuju u {@link BattleEvent}, te iz njega kreiraju poruku.
  */
 public abstract class Move implements Usable {
 
+  /**
+   * Koristi vještinu, te vraća poruku o njenom učinku.
+   *
+   * @param user   Pokemon koji koristi vještinu
+   * @param target Pokemon koji je njena meta
+   * @return poruka o učinku vještine
+   */
+  @Override
+  public String use(Pokemon user, Pokemon target) {
+    BattleEvent event = new BattleEvent();
+    use(user, target, event);
+    return event.render();
+  }
+
+  @Override
+  public abstract void use(Pokemon user, Pokemon target, BattleEvent event);
+
+  @Override
+  public abstract String render(BattleEvent event);
+
   @Override
   public String toString() {
     return "Move{" +
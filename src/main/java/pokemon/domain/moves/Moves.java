@@ -0,0 +1,100 @@
+package pokemon.domain.moves;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registar svih vještina. Vještine nemaju stanje, pa se za svaku vještinu koristi jedna, zajednička
+ * instanca, kreirana kod učitavanja klase. Registar je nepromjenjiv, pa ga je sigurno koristiti iz
+ * više threadova.
+ * <p>
+ * Svaka vještina ima i kompaktni numerički kod (redni broj u registru), koji je moguće koristiti
+ * umjesto naziva, npr. kao indeks u nizu.
+ */
+public enum Moves {
+  BUBBLE(new Bubble()),
+  EMBER(new Ember()),
+  SPLASH(new Splash()),
+  TACKLE(new Tackle()),
+  TAKE_DOWN(new TakeDown()),
+  VINE_WHIP(new VineWhip());
+
+  private static final Moves[] VALUES = values();
+  private static final List<Move> ALL = Collections.unmodifiableList(Arrays.asList(
+      Arrays.stream(VALUES).map(Moves::getMove).toArray(Move[]::new)));
+  private static final Map<String, Moves> BY_NAME = new HashMap<>();
+
+  static {
+    for (Moves moves : VALUES) {
+      BY_NAME.put(moves.move.getName(), moves);
+    }
+  }
+
+  private final Move move;
+
+  Moves(Move move) {
+    this.move = move;
+  }
+
+  public Move getMove() {
+    return move;
+  }
+
+  public int getCode() {
+    return ordinal();
+  }
+
+  /**
+   * Vraća vještinu sa datim nazivom, npr. "Take Down".
+   *
+   * @param name naziv vještine
+   * @return vještina, ili null ako vještina sa tim nazivom ne postoji
+   */
+  public static Move byName(String name) {
+    Moves moves = BY_NAME.get(name);
+    return moves == null ? null : moves.move;
+  }
+
+  /**
+   * Vraća vještinu sa datim kodom.
+   *
+   * @param code kod vještine, između 0 i {@link #count()} - 1
+   * @return vještina
+   * @throws IllegalArgumentException ako vještina sa tim kodom ne postoji
+   */
+  public static Move byCode(int code) {
+    if (code < 0 || code >= VALUES.length) {
+      throw new IllegalArgumentException("Unknown move code: " + code);
+    }
+    return VALUES[code].move;
+  }
+
+  /**
+   * Vraća kod date vještine. Vještina ne mora biti instanca iz registra; dovoljno je da ima isti
+   * naziv.
+   *
+   * @param move vještina
+   * @return kod vještine, ili -1 ako vještina nije u registru
+   */
+  public static int codeOf(Move move) {
+    Moves moves = BY_NAME.get(move.getName());
+    return moves == null ? -1 : moves.ordinal();
+  }
+
+  /**
+   * @return broj vještina u registru
+   */
+  public static int count() {
+    return VALUES.length;
+  }
+
+  /**
+   * @return nepromjenjiva lista svih vještina, poredanih po kodu
+   */
+  public static List<Move> all() {
+    return ALL;
+  }
+}
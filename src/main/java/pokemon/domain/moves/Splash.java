@@ -1,5 +1,6 @@
 package pokemon.domain.moves;
 
+import pokemon.domain.BattleEvent;
 import pokemon.domain.Pokemon;
 
 /**
@@ -13,14 +14,25 @@ public class Splash extends Move {
   }
 
   /**
-   * Vraća poruku o upotrebi Splash vještine. Ne radi ništa drugo.
+   * Upotreba Splash vještine nema nikakav učinak.
    *
    * @param user   Pokemon A koji koristi vještinu
    * @param target Pokemon B; vještina nema utjecaj na njega
+   * @param event  događaj u koji se upisuje (izostanak) učinka
+   */
+  @Override
+  public void use(Pokemon user, Pokemon target, BattleEvent event) {
+    event.noEffect(user, target, this);
+  }
+
+  /**
+   * Vraća poruku o upotrebi Splash vještine.
+   *
+   * @param event događaj upotrebe
    * @return String poruke: "IME_POKEMONA splashed about.",
    */
   @Override
-  public String use(Pokemon user, Pokemon target) {
-    return String.format("%s splashed about.", user.getNickname());
+  public String render(BattleEvent event) {
+    return String.format("%s splashed about.", event.getActor().getNickname());
   }
 }
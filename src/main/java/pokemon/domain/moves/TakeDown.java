@@ -1,5 +1,6 @@
 package pokemon.domain.moves;
 
+import pokemon.domain.BattleEvent;
 import pokemon.domain.Pokemon;
 import pokemon.domain.PokemonType;
 
@@ -24,16 +25,22 @@ public class TakeDown extends DamageMove {
    *
    * @param user   Pokemon koji koristi vještinu
    * @param target Pokemon koji je njena meta
-   * @return String poruke o efektu
+   * @param event  događaj u koji se upisuje učinak vještine, uključujući recoil štetu
    */
   @Override
-  public String use(Pokemon user, Pokemon target) {
-    // info sadrži String koji vraća use metoda roditeljske klase, ali usto ima dodatne informacije.
+  public void use(Pokemon user, Pokemon target, BattleEvent event) {
     int recoilDamage = getDamageAmount() / 2;
-      String info = super.use(user, target)
-              + String.format("\n%s takes %d recoil damage!", user.getNickname(), recoilDamage);
+    super.use(user, target, event);
     user.setHealth(user.getHealth() - recoilDamage);
-    return info;
+    event.recoil(recoilDamage);
+  }
+
+  @Override
+  public String render(BattleEvent event) {
+    // Poruci roditeljske klase dodaje se informacija o recoil šteti.
+    return super.render(event)
+        + String.format("\n%s takes %d recoil damage!", event.getActor().getNickname(),
+        event.getRecoil());
   }
 
   @Override
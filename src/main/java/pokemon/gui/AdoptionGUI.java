@@ -7,6 +7,7 @@ import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -23,10 +24,10 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
 import javafx.util.StringConverter;
-import org.hibernate.HibernateException;
-import org.jsoup.Jsoup;
+import pokemon.datastore.AsyncPokemonDataStore;
 import pokemon.datastore.PokemonData;
 import pokemon.datastore.PokemonDataStore;
+import pokemon.datastore.PokemonMoveData;
 import pokemon.datastore.PokemonTransformer;
 import pokemon.datastore.WinStatsStore;
 import pokemon.domain.BattleUtils;
@@ -35,7 +36,6 @@ import pokemon.domain.PokemonSpecies;
 import pokemon.domain.PokemonSpeciesLoader;
 import pokemon.domain.PokemonType;
 import pokemon.domain.moves.Move;
-import pokemon.web.WebSpeciesLoader;
 
 /**
  * GUI aplikacija, preko koje se pokreće Pokemon igra. Omogućava korisniku da posvoji, tj. kreira
@@ -50,15 +50,17 @@ import pokemon.web.WebSpeciesLoader;
 
 public class AdoptionGUI extends Application {
 
-    private final PokemonSpeciesLoader speciesLoader = new WebSpeciesLoader(
-            () -> Jsoup.connect("https://pokemondb.net/pokedex/all").get());
-    private final PokemonTransformer transformer = new PokemonTransformer(speciesLoader);
+    private final PokemonSpeciesLoader speciesLoader;
+    private final PokemonTransformer transformer;
     private final PokemonDataStore pokemonDataStore;
     private final WinStatsStore winStatsStore;
 
-    public AdoptionGUI(PokemonDataStore pokemonDataStore, WinStatsStore winStatsStore) {
+    public AdoptionGUI(PokemonDataStore pokemonDataStore, WinStatsStore winStatsStore,
+                       PokemonSpeciesLoader speciesLoader) {
         this.pokemonDataStore = pokemonDataStore;
         this.winStatsStore = winStatsStore;
+        this.speciesLoader = speciesLoader;
+        this.transformer = new PokemonTransformer(speciesLoader);
     }
 
     /**
@@ -161,6 +163,13 @@ public class AdoptionGUI extends Application {
                     .sorted(Comparator.comparing(PokemonSpecies::getName))
                     .collect(Collectors.toCollection(FXCollections::observableArrayList));
             speciesComboBox.getItems().setAll(filteredSpecies);
+            // Slike vrsta vidljivih u padajućoj listi se unaprijed učitavaju u pozadini, pa je kasniji
+            // odabir neke od njih trenutan. Ostale vrste se ne učitavaju, kako brza promjena tipa ne bi
+            // zatrpala threadove SpriteCache-a slikama koje korisnik možda nikad neće vidjeti.
+            int prefetchCount = Math.min(speciesComboBox.getVisibleRowCount(), filteredSpecies.size());
+            for (PokemonSpecies species : filteredSpecies.subList(0, prefetchCount)) {
+                SpriteCache.getInstance().load(species.getImageUrl());
+            }
 
           /*
           Odabire se prva vrsta tog tipa; time se sprečava i NullPointException u slučaju da korisnik:
@@ -197,20 +206,26 @@ public class AdoptionGUI extends Application {
                     ArrayList<Move> movesList = BattleUtils.generateMoves();
                     PokemonData pokemonData = transformer.convert(new Pokemon(tf.getText().trim(), species.getHp(),
                             species.getHp(), species.getType(), species, new ArrayList<>()), false);
-                    // add metoda vraća id dodanog PokemonData objekta
-                    int pokemonId = pokemonDataStore.add(pokemonData);
-
+                    List<PokemonMoveData> moveDataList = new ArrayList<>();
                     for (Move move : movesList) {
-                        pokemonDataStore.add(transformer.convert(pokemonId, move));
+                        moveDataList.add(transformer.convert(0, move)); // pokemonId podešava addWithMoves
                     }
-
-                    new PokemonViewGUI(pokemonDataStore, new PokemonTransformer(speciesLoader),
-                        winStatsStore, speciesLoader).start(
-                        new Stage());
-                    primaryStage.close();
-                } catch (HibernateException addEx) {
-                    GUIUtils.displayAlert("Could not add Pokemon and/or its moves to database!");
-                    addEx.printStackTrace();
+                    // Pokemon i njegove vještine dodaju se unutar jedne transakcije, van JavaFX threada.
+                    playButton.setDisable(true);
+                    new AsyncPokemonDataStore(pokemonDataStore, winStatsStore, Platform::runLater)
+                        .addWithMoves(pokemonData, moveDataList)
+                        .whenComplete((pokemonId, addEx) -> {
+                            if (addEx != null) {
+                                playButton.setDisable(false);
+                                GUIUtils.displayAlert("Could not add Pokemon and/or its moves to database!");
+                                addEx.printStackTrace();
+                                return;
+                            }
+                            new PokemonViewGUI(pokemonDataStore, new PokemonTransformer(speciesLoader),
+                                winStatsStore, speciesLoader).start(
+                                new Stage());
+                            primaryStage.close();
+                        });
                 } catch (IllegalArgumentException nicknameTooShortOrTooLongEx) {
                     GUIUtils.displayAlert(
                         "Pokemon nickname should contain between 3 and 64 characters!",
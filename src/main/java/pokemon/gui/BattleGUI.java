@@ -1,7 +1,11 @@
 package pokemon.gui;
 
-import java.util.Random;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -25,22 +29,37 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import javafx.stage.Stage;
+import pokemon.datastore.AsyncPokemonDataStore;
 import pokemon.datastore.PokemonDataStore;
 import pokemon.datastore.PokemonTransformer;
 import pokemon.datastore.WinStatsStore;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
 import pokemon.domain.BattleUtils;
+import pokemon.domain.EnemyPolicy;
 import pokemon.domain.Inventory;
 import pokemon.domain.Pokemon;
 import pokemon.domain.PokemonSpeciesLoader;
 import pokemon.domain.Usable;
+import pokemon.domain.ai.Difficulty;
 import pokemon.domain.items.Item;
 import pokemon.domain.moves.Move;
+import pokemon.replay.BattleRecord;
+import pokemon.replay.ReplayLog;
 
 /**
  * GUI koji omogućava odvijanje toka borbe (uključujući korisničku interakciju) između korisnikovog i "AI"-jevog Pokemona.
+ * Sama pravila borbe izvršava {@link BattleEngine}; GUI samo prikazuje rezultate poteza.
  */
 public class BattleGUI extends Application {
 
+    // Neprijatelj bira vještinu van JavaFX threada, jer pretraživanje (npr. MCTS) traje.
+    private static final ExecutorService ENEMY_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "battle-enemy");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final Pokemon player;
     private final Inventory inventory;
     private final Pokemon enemy;
@@ -51,20 +70,28 @@ public class BattleGUI extends Application {
     private final StringBuilder battleLog;
     private final Text text;
     private ProgressBar playerHpBar, enemyHpBar;
+    private MenuButton menuButton;
     private Stage primaryStage;
-    private final Random random;
+    private final BattleEngine battleEngine;
+    private final BattleRecord battleRecord;
 
 
-    public BattleGUI(Pokemon player, PokemonSpeciesLoader speciesLoader, PokemonDataStore pokemonDataStore, WinStatsStore winStatsStore, PokemonTransformer pokemonTransformer) {
+    public BattleGUI(Pokemon player, PokemonSpeciesLoader speciesLoader, PokemonDataStore pokemonDataStore, WinStatsStore winStatsStore, PokemonTransformer pokemonTransformer, Difficulty difficulty) {
         this.player = player;
         this.speciesLoader = speciesLoader;
         this.pokemonDataStore = pokemonDataStore;
         this.winStatsStore = winStatsStore;
         this.pokemonTransformer = pokemonTransformer;
-        this.enemy = BattleUtils.setUpEnemyPokemon(this.speciesLoader);
+        // HP Pokemona se mijenja tijekom borbe, pa se Pokemon uklanja iz zajedničkog cachea; u
+        // slučaju prekida borbe bi inače ostao sa HP-om koji nije zapisan u databazi.
+        pokemonDataStore.getPokemonCache().invalidate(player.getId());
+        // Neprijatelj, inventar i potezi se generiraju iz istog seeda, pa je borbu moguće ponoviti.
+        BattleRandom random = BattleRandom.create();
+        this.enemy = BattleUtils.setUpEnemyPokemon(this.speciesLoader, random);
         this.inventory = new Inventory();
-        this.inventory.generateInventory();
-        this.random = new Random();
+        this.inventory.generateInventory(random);
+        this.battleEngine = new BattleEngine(player, inventory, enemy, difficulty.createPolicy(), random);
+        this.battleRecord = BattleRecord.start(random.getSeed(), player, enemy, inventory);
         this.battleLog = new StringBuilder("BATTLE START! \n");
         this.text = new Text(battleLog.toString());
     }
@@ -104,7 +131,7 @@ public class BattleGUI extends Application {
         textFlow.setPrefWidth(400);
         textFlow.setLineSpacing(1.15);
 
-        MenuButton menuButton = new MenuButton("Choose Action...");
+        menuButton = new MenuButton("Choose Action...");
 
         // MenuButton se popunjava mogućim korisničkim odabirima vještina i (ako su generirani) predmeta.
         for (Move move : player.getMoves()) {
@@ -171,26 +198,50 @@ public class BattleGUI extends Application {
 
     /**
      * Simulira odvijanje poteza. Oba Pokemona koriste vještinu (korisnikov može i predmet),
-     * te se u skladu sa tim ažuriraju log borbe, te HP barovi.
+     * te se u skladu sa tim ažuriraju log borbe, te HP barovi. Neprijateljeva vještina se bira u
+     * pozadinskom threadu, a primjenjuje na JavaFX threadu; za to vrijeme je odabir akcije onemogućen,
+     * pa se Pokemoni ne mijenjaju dok neprijatelj bira.
      *
      * @param usable korisnikov odabir (vještina, predmet), koji će se koristiti u trenutnom potezu
      */
     private void playTurn(Usable usable) {
-        String effectMessage = usable.use(player, enemy);
-        updateBattleLog(effectMessage);
-        if (endOnDefeat()) {
+        int playerAction = usable instanceof Move ? player.getMoves().indexOf(usable)
+                : player.getMoves().size() + inventory.getItems().indexOf(usable);
+        BattleEngine.TurnResult turnResult = battleEngine.playerAction(usable);
+        updateBattleLog(turnResult.getPlayerMessage());
+        if (turnResult.getOutcome().isOver()) {
+            battleRecord.addTurn(playerAction, -1);
+            endOnDefeat(turnResult.getOutcome());
             return;
         }
-        useEnemyMove();
-        endOnDefeat();
+        updateHealthBars();
+
+        menuButton.setDisable(true);
+        CompletableFuture.supplyAsync(battleEngine::chooseEnemyMove, ENEMY_EXECUTOR)
+                .whenComplete((moveIndex, chooseEx) -> Platform.runLater(() -> {
+                    if (chooseEx != null) {
+                        chooseEx.printStackTrace();
+                        finishTurn(playerAction, EnemyPolicy.RANDOM.chooseMove(enemy, player, inventory,
+                                battleEngine.getRandom()));
+                    } else {
+                        finishTurn(playerAction, moveIndex);
+                    }
+                }));
     }
 
     /**
-     * Metoda koja generira izbor vještine neprijateljskom Pokemonu.
+     * Završava potez: neprijatelj koristi odabranu vještinu, a potez se bilježi u zapis borbe.
+     *
+     * @param playerAction indeks igračeve akcije, za zapis borbe
+     * @param moveIndex    indeks neprijateljeve vještine
      */
-    private void useEnemyMove() {
-        int enemyMoveChoice = random.nextInt(enemy.getMoves().size());
-        updateBattleLog(enemy.useMove(enemyMoveChoice, player));
+    private void finishTurn(int playerAction, int moveIndex) {
+        BattleEngine.TurnResult turnResult = battleEngine.enemyAction(moveIndex);
+        battleRecord.addTurn(playerAction, moveIndex);
+        updateBattleLog(turnResult.getEnemyMessage());
+        if (!endOnDefeat(turnResult.getOutcome())) {
+            menuButton.setDisable(false);
+        }
     }
 
     /**
@@ -220,27 +271,53 @@ public class BattleGUI extends Application {
      * </ul>
      * U potonjem slučaju se ažurira vrijednost ukupnih korisnikovih pobjeda u tablici Stats.
      *
+     * @param outcome stanje borbe nakon poteza
      * @return boolean vrijednost koja naznačava da li aplikacija treba završiti borbu
      */
-    private boolean endOnDefeat() {
+    private boolean endOnDefeat(BattleEngine.Outcome outcome) {
         updateHealthBars();
-        if (player.isDefeated() || enemy.isDefeated()) {
-            if (player.isDefeated() && enemy.isDefeated()) {
+        if (outcome.isOver()) {
+            if (outcome == BattleEngine.Outcome.DRAW) {
                 GUIUtils.displayAlert("Both Pokemon have lost! Ending the battle...", Alert.AlertType.INFORMATION);
-            } else if (enemy.isDefeated()) {
+            } else if (outcome == BattleEngine.Outcome.PLAYER_WON) {
                 GUIUtils.displayAlert("You've won! Ending the battle...", Alert.AlertType.INFORMATION);
                 winStatsStore.incrementWinCount();
-            } else if (player.isDefeated()) {
+            } else {
                 GUIUtils.displayAlert("You've lost! Ending the battle...", Alert.AlertType.INFORMATION);
             }
-            pokemonDataStore.update(pokemonTransformer.convert(player, false));
-            new PokemonViewGUI(pokemonDataStore,
-                    new PokemonTransformer(speciesLoader),
-                    winStatsStore, speciesLoader).start(
-                    new Stage());
-            primaryStage.close();
+            menuButton.setDisable(true);
+            // HP se zapisuje van JavaFX threada; pregled Pokemona se otvara tek nakon zapisivanja,
+            // kako bi prikazao novi HP. Zapis borbe se dodaje tek nakon HP-a i pobjeda, pa greška
+            // kod njega ne sprječava njihovo zapisivanje.
+            new AsyncPokemonDataStore(pokemonDataStore, winStatsStore, Platform::runLater)
+                    .update(pokemonTransformer.convert(player, false))
+                    .whenComplete((ignored, updateEx) -> {
+                        if (updateEx != null) {
+                            GUIUtils.displayAlert("Could not save Pokemon's health!");
+                            updateEx.printStackTrace();
+                        }
+                        saveReplay();
+                        new PokemonViewGUI(pokemonDataStore,
+                                new PokemonTransformer(speciesLoader),
+                                winStatsStore, speciesLoader).start(
+                                new Stage());
+                        primaryStage.close();
+                    });
             return true;
         }
         return false;
     }
+
+    /**
+     * Dodaje zapis završene borbe u log borbi, kako bi ju bilo moguće ponovno odigrati. Greška kod
+     * zapisivanja (npr. neispravan zapis borbe) se samo ispisuje, jer ne smije prekinuti završetak
+     * borbe.
+     */
+    private void saveReplay() {
+        try (ReplayLog replayLog = new ReplayLog(ReplayLog.DEFAULT_FILE)) {
+            replayLog.append(battleRecord);
+        } catch (IOException | RuntimeException replayEx) {
+            replayEx.printStackTrace();
+        }
+    }
 }
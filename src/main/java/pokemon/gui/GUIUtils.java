@@ -1,14 +1,10 @@
 package pokemon.gui;
 
-import java.io.IOException;
-import java.net.URL;
-import java.net.URLConnection;
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 
@@ -18,23 +14,15 @@ import javafx.stage.Stage;
 public class GUIUtils {
 
     /**
-     * Podešava sliku za dati ImageView objekat. Slika je veličine 96x96 piksela.
+     * Podešava sliku za dati ImageView objekat. Slika je veličine 96x96 piksela. Slika se učitava
+     * asinkrono, putem {@link SpriteCache}-a, pa metoda nikad ne blokira JavaFX thread; dok slika ne
+     * bude učitana, ImageView prikazuje praznu sliku.
      *
      * @param imageView ImageView objekat koji će biti ažuriran
      * @param url       URL do slike
      */
     public static void setImageFromURL(ImageView imageView, String url) {
-        try {
-            // Potrebno je specificirati User-Agent, inače se slika neće učitati.
-            // https://stackoverflow.com/a/55077004
-            URLConnection connection = new URL(url).openConnection();
-            connection.addRequestProperty("User-Agent",
-                    "Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0");
-            imageView.setImage(new Image(connection.getInputStream(), 96, 96, true, true));
-        } catch (IOException e) {
-            displayAlert("Failed to retrieve the image!");
-            e.printStackTrace();
-        }
+        SpriteCache.getInstance().setImage(imageView, url);
     }
 
     /**
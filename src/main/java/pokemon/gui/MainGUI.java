@@ -1,62 +1,104 @@
 package pokemon.gui;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import org.hibernate.HibernateException;
-import org.hibernate.SessionFactory;
-import org.hibernate.cfg.Configuration;
-import org.jsoup.Jsoup;
-import pokemon.datastore.PokemonData;
 import pokemon.datastore.PokemonDataStore;
-import pokemon.datastore.PokemonMoveData;
 import pokemon.datastore.PokemonTransformer;
-import pokemon.datastore.StatsData;
 import pokemon.datastore.WinStatsStore;
-import pokemon.domain.PokemonSpeciesLoader;
-import pokemon.web.WebSpeciesLoader;
 
 /**
- * Main klasa Pokemon projekta. Pokreće inicijalizaciju i konfiguraciju databaze, te starta instancu PokemonViewGUI klase.
+ * Main klasa Pokemon projekta. Prikazuje splash ekran dok StartupOrchestrator paralelno konfigurira
+ * databazu, učitava Pokemon vrste i prvu stranicu Pokemona, te zatim starta instancu
+ * PokemonViewGUI klase.
  */
 public class MainGUI extends Application {
 
+    // Trajanje faza pokretanja se ispisuje samo ako je aplikacija pokrenuta sa
+    // -Dpokemon.startupTimings=true, npr. kod mjerenja vremena pokretanja.
+    private static final boolean PRINT_STARTUP_TIMINGS = Boolean.getBoolean("pokemon.startupTimings");
+
     private PokemonDataStore pokemonDataStore;
     private WinStatsStore winStatsStore;
 
-    /**
-     * Metoda za inicijalizaciju i konfiguraciju Hibernate databaze.
-     */
-    private void initDatabase() {
-        try {
-            Configuration config = new Configuration();
-            config.addAnnotatedClass(PokemonData.class);
-            config.addAnnotatedClass(PokemonMoveData.class);
-            config.addAnnotatedClass(StatsData.class);
-            SessionFactory factory = config.buildSessionFactory();
-
-            pokemonDataStore = new PokemonDataStore(factory);
-            winStatsStore = new WinStatsStore(factory);
-        } catch (HibernateException initEx) {
-            GUIUtils.displayAlert("Failed to configure the database!");
-            initEx.printStackTrace();
-        }
-    }
-
-
     public static void main(String[] args) {
         launch(args);
     }
 
     /**
-     * Starta PokemonViewGUI.
+     * Prikazuje splash ekran sa napretkom pokretanja, te po završetku svih faza starta PokemonViewGUI.
      */
     @Override
     public void start(Stage primaryStage) {
-        initDatabase();
-        PokemonSpeciesLoader speciesLoader = new WebSpeciesLoader(
-                () -> Jsoup.connect("https://pokemondb.net/pokedex/all").get());
-        new PokemonViewGUI(pokemonDataStore, new PokemonTransformer(speciesLoader),
-                winStatsStore, speciesLoader).start(new Stage());
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(300);
+        Label statusLabel = new Label("Starting...");
+
+        VBox vBox = new VBox(10, new Label("Pokemon"), progressBar, statusLabel);
+        vBox.setAlignment(Pos.CENTER);
+        vBox.setPadding(new Insets(20));
+
+        primaryStage.setScene(new Scene(vBox));
+        primaryStage.setTitle("Pokemon");
+        primaryStage.show();
 
+        AtomicInteger phasesDone = new AtomicInteger();
+        StartupOrchestrator orchestrator = new StartupOrchestrator(phase -> {
+            int done = phasesDone.incrementAndGet();
+            Platform.runLater(() -> {
+                progressBar.setProgress((double) done / StartupOrchestrator.PHASE_COUNT);
+                statusLabel.setText(phase + " ready");
+            });
+        });
+
+        orchestrator.start().whenComplete((result, startupEx) -> Platform.runLater(() -> {
+            if (startupEx != null) {
+                Throwable cause = startupEx instanceof CompletionException && startupEx.getCause() != null
+                        ? startupEx.getCause() : startupEx;
+                if (cause instanceof HibernateException) {
+                    GUIUtils.displayAlert("Failed to configure the database!");
+                } else {
+                    GUIUtils.displayAlert("Failed to load Pokemon species!");
+                }
+                cause.printStackTrace();
+                primaryStage.close();
+                Platform.exit();
+                return;
+            }
+
+            if (PRINT_STARTUP_TIMINGS) {
+                System.out.println("Startup: " + orchestrator.formatTimings());
+            }
+            pokemonDataStore = result.getPokemonDataStore();
+            winStatsStore = result.getWinStatsStore();
+            // Registar se dijeli između svih prozora, pa se vrste učitavaju samo jednom.
+            new PokemonViewGUI(pokemonDataStore, new PokemonTransformer(result.getSpeciesRegistry()),
+                    winStatsStore, result.getSpeciesRegistry(), result.getPokemonList()).start(new Stage());
+            // Splash se zatvara tek nakon otvaranja glavnog prozora, kako se aplikacija ne bi ugasila.
+            primaryStage.close();
+        }));
+    }
+
+    /**
+     * Prije izlaska iz aplikacije zapisuje sve nezapisane pobjede.
+     */
+    @Override
+    public void stop() {
+        if (winStatsStore != null) {
+            try {
+                winStatsStore.close();
+            } catch (HibernateException closeEx) {
+                closeEx.printStackTrace();
+            }
+        }
     }
 }
@@ -0,0 +1,395 @@
+package pokemon.gui;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javafx.collections.ObservableListBase;
+import pokemon.datastore.AsyncPokemonDataStore;
+import pokemon.datastore.PokemonCache;
+import pokemon.datastore.PokemonData;
+import pokemon.datastore.PokemonDataStore;
+import pokemon.datastore.PokemonTransformer;
+import pokemon.domain.Pokemon;
+
+/**
+ * ObservableList Pokemona koja podatke iz databaze učitava lijeno, stranicu po stranicu. ListView
+ * traži samo one elemente koji su trenutno vidljivi, pa se stranice dohvaćaju tek kad korisnik
+ * do njih skrola. U memoriji se drži samo ograničen broj nedavno korištenih stranica; ostale
+ * pamte samo svoje granice i veličinu. Time potrošnja memorije i vrijeme otvaranja prozora ne
+ * rastu sa veličinom tablice.
+ * <p>
+ * Lista je podijeljena na uzastopne dijelove, od kojih svaki pokriva jedan raspon id-jeva i zna
+ * koliko Pokemona sadrži; na početku je cijela lista jedan neučitan dio. Stranica sa traženim
+ * indeksom dohvaća se jednim upitom, preskakanjem zapisa od početka njenog dijela
+ * ({@link PokemonDataStore#getPokemonDataPage(int, int, int)}), a dio se zatim dijeli na dio ispred
+ * stranice, samu stranicu, i dio iza nje. Skok na kraj liste (npr. povlačenjem scrollbara) tako ne
+ * dohvaća sve stranice između.
+ * <p>
+ * Stranice se dohvaćaju putem {@link AsyncPokemonDataStore}-a, pa JavaFX thread ne čeka na
+ * databazu, a učitavanja stranica dijele ograničen broj konekcija sa ostalim operacijama. Za
+ * Pokemona čija stranica nije u memoriji, {@link #get(int)} vraća null (ListView tada prikazuje
+ * praznu ćeliju); kada stranica stigne, lista javlja promjenu njenih indeksa, pa ListView iscrtava
+ * te ćelije. Prva stranica se dohvaća unaprijed (vidjeti {@link StartupOrchestrator} i
+ * PokemonViewGUI).
+ * <p>
+ * Promjene pojedinih Pokemona (vidjeti {@link PokemonDataStore.ChangeListener}) primjenjuju se na
+ * listu na mjestu ({@link #pokemonAdded()}, {@link #pokemonUpdated(PokemonData, long)},
+ * {@link #pokemonRemoved(int)}), uz jednu promjenu liste po promijenjenom Pokemonu, pa ListView
+ * ponovno iscrtava samo promijenjene ćelije. Ako se Pokemoni izbrišu mimo tih obavijesti, to se
+ * otkriva kada stigne stranica koja je kraća od očekivanog; lista se tada smanjuje, također uz
+ * promjenu liste, pa ListView ne traži nepostojeće indekse. {@link #get(int)} se poziva i usred
+ * iscrtavanja ListView-a, pa nikad ne mijenja listu: sve promjene nastale učitavanjem primjenjuju
+ * se tek kada stranica stigne.
+ */
+public class PagedPokemonList extends ObservableListBase<Pokemon> {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_LOADED_PAGES = 8;
+
+    /**
+     * Dio liste sa Pokemonima čiji su id-jevi u rasponu (afterId, lastId]. Posljednji dio nema
+     * gornju granicu, pa sadrži i Pokemone dodane nakon kreiranja liste.
+     */
+    private static final class Page {
+
+        private final int afterId;
+        private final int lastId;
+        private int size;
+        private List<Pokemon> items; // null ako stranica nije učitana, ili je izbačena iz memorije
+        // Početni indeksi (unutar dijela) stranica koje se trenutno učitavaju.
+        private final Set<Integer> loading = new HashSet<>();
+
+        private Page(int afterId, int lastId, int size) {
+            this.afterId = afterId;
+            this.lastId = lastId;
+            this.size = size;
+        }
+    }
+
+    private final AsyncPokemonDataStore asyncDataStore;
+    private final PokemonDataStore pokemonDataStore;
+    private final PokemonTransformer pokemonTransformer;
+    private final int pageSize;
+    private final List<Page> pages = new ArrayList<>();
+    private final Deque<Page> loadedPages = new ArrayDeque<>();
+    private int size;
+
+    public PagedPokemonList(AsyncPokemonDataStore asyncDataStore, PokemonTransformer pokemonTransformer) {
+        this(asyncDataStore, pokemonTransformer, DEFAULT_PAGE_SIZE);
+    }
+
+    public PagedPokemonList(AsyncPokemonDataStore asyncDataStore, PokemonTransformer pokemonTransformer,
+                            int pageSize) {
+        this(asyncDataStore, pokemonTransformer, pageSize,
+                asyncDataStore.getPokemonDataStore().countPokemon());
+    }
+
+    /**
+     * Kreira listu sa već dohvaćenom prvom stranicom (vidjeti {@link StartupOrchestrator}), pa
+     * prikaz prvih Pokemona ne čeka na databazu.
+     *
+     * @param size      ukupan broj Pokemona
+     * @param firstPage prva stranica, dohvaćena sa {@link #DEFAULT_PAGE_SIZE} zapisa
+     * @param stamp     oznaka cachea Pokemona, uzeta prije dohvaćanja prve stranice
+     *                  (vidjeti {@link PokemonCache#stamp()})
+     */
+    PagedPokemonList(AsyncPokemonDataStore asyncDataStore, PokemonTransformer pokemonTransformer,
+                     int size, List<PokemonData> firstPage, long stamp) {
+        this(asyncDataStore, pokemonTransformer, DEFAULT_PAGE_SIZE, size);
+        if (size > 0) {
+            // Lista još nema promatrača, pa se skraćuje bez promjene liste.
+            this.size -= split(pages.get(0), 0, Math.min(pageSize, size), firstPage, stamp);
+        }
+    }
+
+    private PagedPokemonList(AsyncPokemonDataStore asyncDataStore, PokemonTransformer pokemonTransformer,
+                             int pageSize, int size) {
+        this.asyncDataStore = asyncDataStore;
+        this.pokemonDataStore = asyncDataStore.getPokemonDataStore();
+        this.pokemonTransformer = pokemonTransformer;
+        this.pageSize = pageSize;
+        this.size = size;
+        pages.add(new Page(0, Integer.MAX_VALUE, size));
+    }
+
+    /**
+     * Vraća Pokemona na datom indeksu. Ako njegova stranica nije u memoriji, pokreće njeno
+     * učitavanje i vraća null (ListView tada prikazuje praznu ćeliju, dok stranica ne stigne).
+     */
+    @Override
+    public Pokemon get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int offset = 0;
+        for (Page page : pages) {
+            if (index < offset + page.size) {
+                if (page.items == null) {
+                    load(page, index - offset, index);
+                    return null;
+                }
+                loadedPages.remove(page);
+                loadedPages.addLast(page);
+                return page.items.get(index - offset);
+            }
+            offset += page.size;
+        }
+        throw new IllegalStateException("Pages do not cover index " + index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Dodaje novog Pokemona na kraj liste. Novi Pokemoni imaju veći id od svih postojećih, pa
+     * pripadaju posljednjem dijelu liste, i učitavaju se sa njim.
+     */
+    void pokemonAdded() {
+        pages.get(pages.size() - 1).size++;
+        size++;
+        beginChange();
+        nextAdd(size - 1, size);
+        endChange();
+    }
+
+    /**
+     * @param pokemonId id Pokemona
+     * @return true ako je Pokemon na nekoj od stranica u memoriji, tj. ako ga je ListView možda
+     * prikazao; promjene ostalih Pokemona vidljive su kod učitavanja njihovih stranica
+     */
+    boolean isLoaded(int pokemonId) {
+        Page page = pageOf(pokemonId);
+        return page != null && page.items != null && indexOf(page, pokemonId) >= 0;
+    }
+
+    /**
+     * Zamjenjuje Pokemona novim podacima iz databaze, ako je njegova stranica u memoriji.
+     *
+     * @param pokemonData novi podaci Pokemona
+     * @param stamp       oznaka cachea Pokemona, uzeta prije dohvaćanja podataka
+     */
+    void pokemonUpdated(PokemonData pokemonData, long stamp) {
+        Page page = pageOf(pokemonData.getId());
+        if (page == null || page.items == null) {
+            return;
+        }
+        int index = indexOf(page, pokemonData.getId());
+        if (index < 0) {
+            return;
+        }
+        Pokemon pokemon = pokemonDataStore.getPokemonCache().get(pokemonData, stamp, pokemonTransformer::convert);
+        Pokemon old = page.items.set(index, pokemon);
+        beginChange();
+        nextSet(offsetOf(page) + index, old);
+        endChange();
+    }
+
+    /**
+     * Uklanja Pokemona iz liste. Ako njegova stranica nije u memoriji, točan indeks nije poznat,
+     * pa se uklanja prvi indeks njegovog dijela liste; ti Pokemoni ionako nisu prikazani.
+     *
+     * @param pokemonId id izbrisanog Pokemona
+     */
+    void pokemonRemoved(int pokemonId) {
+        Page page = pageOf(pokemonId);
+        if (page == null || page.size == 0) {
+            return; // Pokemon nije bio u listi
+        }
+        int index = offsetOf(page);
+        Pokemon removed = null;
+        if (page.items != null) {
+            int pageIndex = indexOf(page, pokemonId);
+            if (pageIndex < 0) {
+                return;
+            }
+            removed = page.items.remove(pageIndex);
+            index += pageIndex;
+        }
+        page.size--;
+        if (page.size == 0 && page.lastId != Integer.MAX_VALUE) {
+            pages.remove(page);
+            loadedPages.remove(page);
+        }
+        size--;
+        beginChange();
+        nextRemove(index, removed);
+        endChange();
+    }
+
+    /**
+     * Uklanja Pokemone na indeksima [from, from + count), za koje je učitavanjem utvrđeno da više ne
+     * postoje. Uklonjeni Pokemoni nisu poznati, pa se u promjeni liste navode kao null.
+     */
+    private void removeMissing(int from, int count) {
+        if (count <= 0) {
+            return;
+        }
+        size -= count;
+        beginChange();
+        nextRemove(from, Collections.<Pokemon>nCopies(count, null));
+        endChange();
+    }
+
+    /**
+     * @return dio liste čiji raspon id-jeva sadrži dati id, ili null
+     */
+    private Page pageOf(int pokemonId) {
+        for (Page page : pages) {
+            if (pokemonId > page.afterId && pokemonId <= page.lastId) {
+                return page;
+            }
+        }
+        return null;
+    }
+
+    private int offsetOf(Page page) {
+        int offset = 0;
+        for (Page knownPage : pages) {
+            if (knownPage == page) {
+                break;
+            }
+            offset += knownPage.size;
+        }
+        return offset;
+    }
+
+    private static int indexOf(Page page, int pokemonId) {
+        for (int i = 0; i < page.items.size(); i++) {
+            if (page.items.get(i).getId() == pokemonId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Jednim upitom, van JavaFX threada, učitava stranicu neučitanog dijela liste koja sadrži dati
+     * indeks. Stranice dijela počinju na višekratnicima {@code pageSize}; za stranicu koja nije na
+     * početku dijela dohvaća se i posljednji Pokemon ispred nje, čiji id postaje granica između
+     * dijelova. Ista stranica se ne učitava više puta istovremeno.
+     * <p>
+     * Kada stranica stigne (na callbackExecutor-u AsyncPokemonDataStore-a), dio liste se dijeli, a
+     * za učitane Pokemone javlja se promjena liste. Ako je stranica kraća od očekivanog, lista se
+     * tada i smanjuje.
+     *
+     * @param page      neučitan dio liste
+     * @param pageIndex traženi indeks, unutar dijela
+     * @param index     traženi indeks, unutar liste
+     */
+    private void load(Page page, int pageIndex, int index) {
+        int skip = pageIndex / pageSize * pageSize;
+        if (!page.loading.add(skip)) {
+            return;
+        }
+        int count = Math.min(pageSize, page.size - skip);
+        int expectedSize = page.size;
+        long stamp = pokemonDataStore.getPokemonCache().stamp();
+        CompletableFuture<List<PokemonData>> pageFuture = skip == 0
+                ? asyncDataStore.getPokemonDataPage(page.afterId, 0, count)
+                : asyncDataStore.getPokemonDataPage(page.afterId, skip - 1, count + 1);
+        pageFuture.whenComplete((pokemonDataPage, pageEx) -> {
+            page.loading.remove(skip);
+            if (pageEx != null) {
+                pageEx.printStackTrace();
+                return;
+            }
+            if (page.size != expectedSize || !pages.contains(page)) {
+                // Dio liste se u međuvremenu promijenio (npr. podijelilo ga je drugo učitavanje), pa
+                // se stranica traženog indeksa, ako još nije u memoriji, učitava ponovno.
+                if (index < size) {
+                    get(index);
+                }
+                return;
+            }
+            List<PokemonData> pokemonDataList = new ArrayList<>(pokemonDataPage.size());
+            for (PokemonData pokemonData : pokemonDataPage) {
+                if (pokemonData.getId() <= page.lastId) {
+                    pokemonDataList.add(pokemonData);
+                }
+            }
+            int offset = offsetOf(page);
+            int loadedEnd = skip + Math.max(0, pokemonDataList.size() - (skip == 0 ? 0 : 1));
+            int missing = split(page, skip, count, pokemonDataList, stamp);
+            if (loadedEnd > skip) {
+                // Učitani Pokemoni zamjenjuju prazne ćelije.
+                beginChange();
+                for (int i = offset + skip; i < offset + loadedEnd; i++) {
+                    nextSet(i, null);
+                }
+                endChange();
+            }
+            // Uklanja se kraj učitanih Pokemona; Pokemoni iza njega se pomiču na uklonjene indekse.
+            removeMissing(offset + loadedEnd, missing);
+        });
+    }
+
+    /**
+     * Zamjenjuje neučitan dio liste dijelom ispred učitanih Pokemona, stranicom učitanih Pokemona,
+     * te dijelom iza njih. Ako je učitano manje Pokemona od očekivanog, ostatak dijela više ne
+     * postoji; lista ne smije prikazati te Pokemone, pa se uklanjaju iz dijela.
+     *
+     * @param page            neučitan dio liste
+     * @param skip            broj Pokemona dijela ispred učitanih
+     * @param count           očekivani broj učitanih Pokemona
+     * @param pokemonDataList zapisi unutar granica dijela; ako je skip veći od 0, prvi zapis je
+     *                        posljednji Pokemon ispred učitanih
+     * @param stamp           oznaka cachea Pokemona, uzeta prije dohvaćanja zapisa
+     * @return broj Pokemona uklonjenih iz dijela, sa kraja učitanih Pokemona
+     */
+    private int split(Page page, int skip, int count, List<PokemonData> pokemonDataList, long stamp) {
+        if (skip > 0 && pokemonDataList.isEmpty()) {
+            // Dio ima manje od skip Pokemona, pa granica stranice nije poznata.
+            int missing = page.size - skip;
+            page.size = skip;
+            return missing;
+        }
+        List<Page> parts = new ArrayList<>(3);
+        int afterId = page.afterId;
+        if (skip > 0) {
+            afterId = pokemonDataList.get(0).getId();
+            pokemonDataList = pokemonDataList.subList(1, pokemonDataList.size());
+            parts.add(new Page(page.afterId, afterId, skip));
+        }
+        int lastId = pokemonDataList.isEmpty()
+                ? afterId : pokemonDataList.get(pokemonDataList.size() - 1).getId();
+        Page loaded = new Page(afterId, lastId, 0);
+        if (!pokemonDataList.isEmpty()) {
+            fill(loaded, pokemonDataList, stamp);
+            parts.add(loaded);
+        }
+        int tailSize = pokemonDataList.size() == count ? page.size - skip - count : 0;
+        if (tailSize > 0 || page.lastId == Integer.MAX_VALUE) {
+            parts.add(new Page(lastId, page.lastId, tailSize));
+        }
+        int position = pages.indexOf(page);
+        pages.remove(position);
+        pages.addAll(position, parts);
+        return page.size - skip - loaded.size - tailSize;
+    }
+
+    /**
+     * Puni stranicu Pokemonima iz cachea; konvertiraju se samo Pokemoni koji nisu u cacheu. Ako je
+     * u memoriji previše stranica, izbacuje se najdavnije korištena.
+     */
+    private void fill(Page page, List<PokemonData> pokemonDataList, long stamp) {
+        PokemonCache pokemonCache = pokemonDataStore.getPokemonCache();
+        List<Pokemon> items = new ArrayList<>(pokemonDataList.size());
+        for (PokemonData pokemonData : pokemonDataList) {
+            items.add(pokemonCache.get(pokemonData, stamp, pokemonTransformer::convert));
+        }
+        page.items = items;
+        page.size = items.size();
+
+        loadedPages.addLast(page);
+        if (loadedPages.size() > MAX_LOADED_PAGES) {
+            loadedPages.removeFirst().items = null;
+        }
+    }
+}
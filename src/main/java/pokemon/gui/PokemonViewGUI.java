@@ -1,7 +1,10 @@
 package pokemon.gui;
 
+import java.util.ArrayList;
+import java.util.List;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -13,12 +16,10 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
-import org.hibernate.HibernateException;
 import pokemon.datastore.*;
 import pokemon.domain.Pokemon;
 import pokemon.domain.PokemonSpeciesLoader;
-
-import java.util.List;
+import pokemon.domain.ai.Difficulty;
 
 /**
  * GUI prozor koji s lijeve strane pruža pregled dosad kreiranih Pokemona (smještenih u databazi), a sa desne brojač pobjeda, te dugmad za:<ul>
@@ -30,17 +31,38 @@ import java.util.List;
  */
 public class PokemonViewGUI extends Application {
 
+    // Odabrana težina se pamti između otvaranja prozora.
+    private static Difficulty selectedDifficulty = Difficulty.EASY;
+
     private final PokemonDataStore pokemonDataStore;
     private final PokemonTransformer pokemonTransformer;
     private final WinStatsStore winStatsStore;
     private final PokemonSpeciesLoader speciesLoader;
+    // Operacije nad databazom izvršavaju se van JavaFX threada, pa spora databaza ne blokira prozor.
+    private final AsyncPokemonDataStore asyncDataStore;
+    private ObservableList<Pokemon> initialPokemonList;
+    // Promjene Pokemona pristigle dok se lista učitava; primjenjuju se kada lista bude postavljena.
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    private boolean loading;
 
     public PokemonViewGUI(PokemonDataStore pokemonDataStore, PokemonTransformer pokemonTransformer,
                           WinStatsStore winStatsStore, PokemonSpeciesLoader speciesLoader) {
+        this(pokemonDataStore, pokemonTransformer, winStatsStore, speciesLoader, null);
+    }
+
+    /**
+     * @param initialPokemonList već učitana lista Pokemona (vidjeti {@link StartupOrchestrator}),
+     *                           koja se prikazuje umjesto ponovnog dohvaćanja iz databaze; može biti null
+     */
+    public PokemonViewGUI(PokemonDataStore pokemonDataStore, PokemonTransformer pokemonTransformer,
+                          WinStatsStore winStatsStore, PokemonSpeciesLoader speciesLoader,
+                          ObservableList<Pokemon> initialPokemonList) {
         this.pokemonDataStore = pokemonDataStore;
         this.pokemonTransformer = pokemonTransformer;
         this.winStatsStore = winStatsStore;
         this.speciesLoader = speciesLoader;
+        this.asyncDataStore = new AsyncPokemonDataStore(pokemonDataStore, winStatsStore, Platform::runLater);
+        this.initialPokemonList = initialPokemonList;
     }
 
     /**
@@ -92,9 +114,20 @@ public class PokemonViewGUI extends Application {
         listView.setPrefWidth(450);
         listView.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
 
-        ObservableList<Pokemon> transformedPokemonList = getTransformedPokemonList();
+        // Promjene Pokemona (npr. Heal, Release) primjenjuju se na postojeću listu, bez ponovnog
+        // učitavanja, pa se ponovno iscrtavaju samo promijenjene ćelije. Listener se registrira prije
+        // učitavanja liste, kako se ne bi izgubile promjene nastale tijekom učitavanja.
+        PokemonDataStore.ChangeListener changeListener = (type, pokemonId) ->
+                Platform.runLater(() -> applyChange(listView, type, pokemonId));
+        pokemonDataStore.addChangeListener(changeListener);
+        primaryStage.setOnHidden(e -> pokemonDataStore.removeChangeListener(changeListener));
 
-        listView.setItems(transformedPokemonList);
+        if (initialPokemonList != null) {
+            listView.setItems(initialPokemonList);
+            initialPokemonList = null;
+        } else {
+            refreshPokemonList(listView);
+        }
         listView.setCellFactory(e -> new PokemonListCell()); // podešava se custom izgled ćelija
 
     /*
@@ -115,16 +148,24 @@ public class PokemonViewGUI extends Application {
         releaseBtn.setMaxWidth(Double.MAX_VALUE);
         healBtn.setMaxWidth(Double.MAX_VALUE);
 
-        Label winCountsLbl = new Label();
+        // Težina borbe, tj. način na koji neprijatelj bira vještine.
+        ComboBox<Difficulty> difficultyBox = new ComboBox<>(FXCollections.observableArrayList(Difficulty.values()));
+        difficultyBox.setValue(selectedDifficulty);
+        difficultyBox.setMaxWidth(Double.MAX_VALUE);
+        difficultyBox.setOnAction(e -> selectedDifficulty = difficultyBox.getValue());
+
+        Label winCountsLbl = new Label("Win Counts: ...");
         // Ažurira se ukupni broj korisnikovih pobjeda (playerWins u tablici Stats).
         // U slučaju neuspjeha, prikazuje se: Win Counts: ---
-        try {
-            winCountsLbl.setText("Win Counts: " + winStatsStore.getWinCount());
-        } catch (HibernateException | IllegalArgumentException winEx) {
-            GUIUtils.displayAlert("An error has occured while reading player's win count from database!");
-            winEx.printStackTrace();
-            winCountsLbl.setText("Win Counts: ---");
-        }
+        asyncDataStore.getWinCount().whenComplete((winCount, winEx) -> {
+            if (winEx != null) {
+                GUIUtils.displayAlert("An error has occured while reading player's win count from database!");
+                winEx.printStackTrace();
+                winCountsLbl.setText("Win Counts: ---");
+            } else {
+                winCountsLbl.setText("Win Counts: " + winCount);
+            }
+        });
 
     /*
      --------------
@@ -134,7 +175,7 @@ public class PokemonViewGUI extends Application {
 
         // Zatvara trenutni prozor i otvara prozor za posvajanje novog Pokemona.
         adoptBtn.setOnAction(e -> {
-                    new AdoptionGUI(pokemonDataStore, winStatsStore).start(new Stage());
+                    new AdoptionGUI(pokemonDataStore, winStatsStore, speciesLoader).start(new Stage());
                     primaryStage.close();
                 }
         );
@@ -143,14 +184,15 @@ public class PokemonViewGUI extends Application {
         healBtn.setOnAction(e -> {
             Pokemon pokemon = listView.getSelectionModel().getSelectedItem();
             if (pokemon != null) {
-                try {
-                    pokemonDataStore.heal(pokemon.getId());
-                    pokemon.setHealth(pokemon.getMaxHealth());
-                    listView.setItems(getTransformedPokemonList()); // ažuriranje ListView-a
-                } catch (HibernateException healEx) {
-                    GUIUtils.displayAlert("Could not heal Pokemon!");
-                    healEx.printStackTrace();
-                }
+                healBtn.setDisable(true);
+                asyncDataStore.heal(pokemon.getId()).whenComplete((ignored, healEx) -> {
+                    healBtn.setDisable(false);
+                    if (healEx != null) {
+                        GUIUtils.displayAlert("Could not heal Pokemon!");
+                        healEx.printStackTrace();
+                    }
+                    // ListView se ažurira putem obavijesti o promjeni (vidjeti applyChange).
+                });
             }
         });
 
@@ -158,18 +200,16 @@ public class PokemonViewGUI extends Application {
         releaseBtn.setOnAction(e -> {
             Pokemon pokemon = listView.getSelectionModel().getSelectedItem();
             if (pokemon != null) {
-                try {
-                    PokemonData pokemonData = pokemonTransformer.convert(pokemon, true);
-                    // Zbog ograničenja u vidu foreign key-a, prvo se brišu vještine iz PokemonMove tablice.
-                    for (PokemonMoveData moveData : pokemonData.getMovesList()) {
-                        pokemonDataStore.delete(moveData.getPokemonId());
+                releaseBtn.setDisable(true);
+                // Pokemon i njegove vještine brišu se unutar jedne transakcije.
+                asyncDataStore.release(pokemon.getId()).whenComplete((ignored, deleteEx) -> {
+                    releaseBtn.setDisable(false);
+                    if (deleteEx != null) {
+                        GUIUtils.displayAlert("Failed to delete the Pokemon!");
+                        deleteEx.printStackTrace();
                     }
-                    pokemonDataStore.delete(pokemonData);
-                    listView.setItems(getTransformedPokemonList()); // ažuriranje ListView-a
-                } catch (HibernateException deleteEx) {
-                    GUIUtils.displayAlert("Failed to delete the Pokemon!");
-                    deleteEx.printStackTrace();
-                }
+                    // ListView se ažurira putem obavijesti o promjeni (vidjeti applyChange).
+                });
             }
         });
 
@@ -179,7 +219,8 @@ public class PokemonViewGUI extends Application {
             Pokemon player = listView.getSelectionModel().getSelectedItem();
             if (player != null) {
                 if (player.getHealth() > 0) {
-                    new BattleGUI(player, speciesLoader, pokemonDataStore, winStatsStore, pokemonTransformer).start(new Stage());
+                    new BattleGUI(player, speciesLoader, pokemonDataStore, winStatsStore, pokemonTransformer,
+                            difficultyBox.getValue()).start(new Stage());
                     primaryStage.close();
                 } else {
                     GUIUtils.displayAlert("Your Pokemon's health has 0 HP!", Alert.AlertType.WARNING);
@@ -193,7 +234,7 @@ public class PokemonViewGUI extends Application {
          LAYOUT
      --------------
     */
-        VBox vbox = new VBox(10, adoptBtn, battleBtn, releaseBtn, healBtn, winCountsLbl);
+        VBox vbox = new VBox(10, adoptBtn, battleBtn, difficultyBox, releaseBtn, healBtn, winCountsLbl);
         VBox.setMargin(winCountsLbl, new Insets(10, 0, 0, 0));
         vbox.setAlignment(Pos.BASELINE_CENTER);
 
@@ -210,22 +251,78 @@ public class PokemonViewGUI extends Application {
     }
 
     /**
-     * Pomoćna metoda za dobivanje liste objekata mapiranih iz PokemonData u Pokemon. Korisna za
-     * podešavanje sadržaja ListView-a.
+     * Primjenjuje promjenu jednog Pokemona na listu prikazanu u ListView-u. Podaci izmijenjenog
+     * Pokemona dohvaćaju se van JavaFX threada, i to samo ako je Pokemon na nekoj od učitanih
+     * stranica liste. Ako se lista još učitava, promjena se pamti, te primjenjuje nakon postavljanja
+     * liste. Promjena koju učitana lista već sadrži tako može biti primijenjena dvaput; lista se
+     * tada ispravlja kod učitavanja stranica (vidjeti {@link PagedPokemonList}). Ako učitavanje
+     * liste nije uspjelo, promjene se više ne pamte, nego zanemaruju.
      *
-     * @return ObservableList Pokemon objekata.
+     * @param listView  ListView sa listom Pokemona
+     * @param type      vrsta promjene
+     * @param pokemonId id promijenjenog Pokemona
      */
-    private ObservableList<Pokemon> getTransformedPokemonList() {
-        ObservableList<Pokemon> transformedPokemonList = FXCollections.observableArrayList();
-        try {
-            List<PokemonData> pokemonDataList = pokemonDataStore.getPokemonData();
-            transformedPokemonList = FXCollections.observableArrayList();
-            for (PokemonData pokemonData : pokemonDataList) {
-                transformedPokemonList.add(pokemonTransformer.convert(pokemonData));
-            }
-        } catch (HibernateException getPokemonDataEx) {
-            GUIUtils.displayAlert("Failed to retrieve Pokemon objects from the database!");
+    private void applyChange(ListView<Pokemon> listView, PokemonDataStore.ChangeType type, int pokemonId) {
+        if (loading) {
+            pendingChanges.add(() -> applyChange(listView, type, pokemonId));
+            return;
+        }
+        if (!(listView.getItems() instanceof PagedPokemonList)) {
+            return; // lista nije učitana, pa nema promjena koje bi se primijenile
+        }
+        PagedPokemonList pokemonList = (PagedPokemonList) listView.getItems();
+        switch (type) {
+            case ADDED:
+                pokemonList.pokemonAdded();
+                break;
+            case REMOVED:
+                pokemonList.pokemonRemoved(pokemonId);
+                break;
+            case UPDATED:
+                if (pokemonList.isLoaded(pokemonId)) {
+                    long stamp = pokemonDataStore.getPokemonCache().stamp();
+                    asyncDataStore.getPokemonData(pokemonId).whenComplete((pokemonData, getPokemonDataEx) -> {
+                        if (getPokemonDataEx != null) {
+                            getPokemonDataEx.printStackTrace();
+                        } else if (pokemonData != null && listView.getItems() == pokemonList) {
+                            pokemonList.pokemonUpdated(pokemonData, stamp);
+                        }
+                    });
+                }
+                break;
+            default:
+                break;
         }
-        return transformedPokemonList;
+    }
+
+    /**
+     * Pomoćna metoda za podešavanje sadržaja ListView-a: lista objekata mapiranih iz PokemonData u
+     * Pokemon. Broj Pokemona i prva stranica dohvaćaju se van JavaFX threada, a ostale stranice se
+     * učitavaju lijeno, kako korisnik skrola (vidjeti {@link PagedPokemonList}).
+     *
+     * @param listView ListView čiji se sadržaj podešava kada lista bude učitana
+     */
+    private void refreshPokemonList(ListView<Pokemon> listView) {
+        // Pokemoni koji se nisu promijenili ne konvertiraju se ponovno, nego se uzimaju iz cachea.
+        long stamp = pokemonDataStore.getPokemonCache().stamp();
+        loading = true;
+        asyncDataStore.countPokemon()
+                .thenCombine(asyncDataStore.getPokemonDataPage(0, PagedPokemonList.DEFAULT_PAGE_SIZE),
+                        (size, firstPage) -> new PagedPokemonList(asyncDataStore, pokemonTransformer, size,
+                                firstPage, stamp))
+                .whenComplete((pokemonList, getPokemonDataEx) -> {
+                    loading = false;
+                    if (getPokemonDataEx != null) {
+                        GUIUtils.displayAlert("Failed to retrieve Pokemon objects from the database!");
+                        getPokemonDataEx.printStackTrace();
+                        pendingChanges.clear();
+                        listView.setItems(FXCollections.observableArrayList());
+                    } else {
+                        listView.setItems(pokemonList);
+                        List<Runnable> changes = new ArrayList<>(pendingChanges);
+                        pendingChanges.clear();
+                        changes.forEach(Runnable::run);
+                    }
+                });
     }
 }
@@ -0,0 +1,196 @@
+package pokemon.gui;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+
+/**
+ * <b>SpriteCache</b> asinkrono učitava slike Pokemona (sprite-ove). Slike se traže redom u:
+ * <ol>
+ *   <li>memoriji: ograničeni LRU cache dekodiranih Image objekata</li>
+ *   <li>disku: datoteke u ~/.pokemon/sprites, imenovane po SHA-256 hashu URL-a</li>
+ *   <li>mreži: tek ako slika nije pronađena ni u memoriji ni na disku</li>
+ * </ol>
+ * Dohvaćanje i dekodiranje se odvija van JavaFX threada, pa npr. skrolanje ListView-a ne čeka na
+ * mrežu. Istovremeni zahtjevi za istu sliku dijele jedno dohvaćanje.
+ */
+public class SpriteCache {
+
+    private static final int SPRITE_SIZE = 96;
+    // Bez ograničenja bi nedostupan server trajno zauzeo threadove za učitavanje slika.
+    private static final int TIMEOUT_MILLIS = 10_000;
+    private static final String URL_PROPERTY = "pokemon.gui.SpriteCache.url";
+    private static final SpriteCache INSTANCE = new SpriteCache(
+            Paths.get(System.getProperty("user.home"), ".pokemon", "sprites"), 512);
+
+    private final Path directory;
+    private final Map<String, Image> memoryCache;
+    private final ConcurrentHashMap<String, CompletableFuture<Image>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private Image placeholder;
+
+    public SpriteCache(Path directory, int capacity) {
+        this.directory = directory;
+        // LinkedHashMap sa access-order poretkom; najdavnije korištena slika se izbacuje prva.
+        this.memoryCache = Collections.synchronizedMap(new LinkedHashMap<String, Image>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                return size() > capacity;
+            }
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "sprite-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static SpriteCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Podešava sliku za dati ImageView. Ako je slika u memoriji, podešava se odmah; u suprotnom se
+     * ImageView-u privremeno podešava prazna slika, a prava slika se podešava (na JavaFX threadu)
+     * kada bude učitana. Ako se ImageView u međuvremenu iskoristi za drugu sliku (npr. kod
+     * recikliranja ćelija ListView-a), zakašnjela slika se zanemaruje.
+     *
+     * @param imageView ImageView objekat koji će biti ažuriran
+     * @param url       URL do slike
+     */
+    public void setImage(ImageView imageView, String url) {
+        imageView.getProperties().put(URL_PROPERTY, url);
+        Image cached = memoryCache.get(url);
+        if (cached != null) {
+            imageView.setImage(cached);
+            return;
+        }
+
+        if (placeholder == null) {
+            placeholder = new WritableImage(SPRITE_SIZE, SPRITE_SIZE);
+        }
+        imageView.setImage(placeholder);
+        load(url).whenComplete((image, loadEx) -> Platform.runLater(() -> {
+            if (loadEx != null) {
+                loadEx.printStackTrace();
+            } else if (url.equals(imageView.getProperties().get(URL_PROPERTY))) {
+                imageView.setImage(image);
+            }
+        }));
+    }
+
+    /**
+     * Asinkrono učitava sliku sa datog URL-a. Ako se ista slika već učitava, vraća se postojeći
+     * CompletableFuture.
+     *
+     * @param url URL do slike
+     * @return CompletableFuture koji se završava učitanom slikom
+     */
+    public CompletableFuture<Image> load(String url) {
+        Image cached = memoryCache.get(url);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        CompletableFuture<Image> existing = inFlight.putIfAbsent(url, future);
+        if (existing != null) {
+            return existing;
+        }
+        executor.execute(() -> {
+            try {
+                Image image = fetch(url);
+                memoryCache.put(url, image);
+                future.complete(image);
+            } catch (IOException | RuntimeException fetchEx) {
+                future.completeExceptionally(fetchEx);
+            } finally {
+                inFlight.remove(url, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Čita sliku sa diska, odnosno dohvaća je sa mreže i sprema na disk, te je dekodira.
+     */
+    private Image fetch(String url) throws IOException {
+        Path file = directory.resolve(hash(url));
+        byte[] bytes;
+        if (Files.isRegularFile(file)) {
+            bytes = Files.readAllBytes(file);
+        } else {
+            bytes = download(url);
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, "sprite", ".tmp");
+            try {
+                Files.write(tempFile, bytes);
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+        Image image = new Image(new ByteArrayInputStream(bytes), SPRITE_SIZE, SPRITE_SIZE, true, true);
+        if (image.isError()) {
+            Files.deleteIfExists(file);
+            throw new IOException("Failed to decode the image: " + url, image.getException());
+        }
+        return image;
+    }
+
+    private static byte[] download(String url) throws IOException {
+        // Potrebno je specificirati User-Agent, inače se slika neće učitati.
+        // https://stackoverflow.com/a/55077004
+        URLConnection connection = new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        connection.addRequestProperty("User-Agent",
+                "Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0");
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static String hash(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 je dostupan u svakoj Java implementaciji
+        }
+    }
+}
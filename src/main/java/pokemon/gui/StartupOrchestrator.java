@@ -0,0 +1,264 @@
+package pokemon.gui;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import org.hibernate.SessionFactory;
+import pokemon.datastore.AsyncPokemonDataStore;
+import pokemon.datastore.DatabaseSetup;
+import pokemon.datastore.PokemonData;
+import pokemon.datastore.PokemonDataStore;
+import pokemon.datastore.PokemonTransformer;
+import pokemon.datastore.SpeciesSnapshotLoader;
+import pokemon.datastore.WinStatsStore;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.SpeciesRegistry;
+import pokemon.web.WebSpeciesLoader;
+
+/**
+ * <b>StartupOrchestrator</b> izvršava faze pokretanja aplikacije paralelno, van JavaFX threada:
+ * <ul>
+ * <li>{@value #DATABASE}: kreiranje Hibernate SessionFactory-ja (metapodaci, JDBC konekcije)</li>
+ * <li>{@value #SPECIES}: učitavanje Pokemon vrsta, iz snapshota ili sa weba</li>
+ * <li>{@value #ROSTER}: broj Pokemona i prva stranica liste Pokemona; počinje čim je databaza
+ * spremna, neovisno o vrstama</li>
+ * </ul>
+ * Vrijeme do prikaza prozora je tako približno najduža faza, a ne zbroj svih faza. Trajanje svake
+ * faze se mjeri, te je dostupno nakon pokretanja ({@link #formatTimings()}).
+ */
+public class StartupOrchestrator {
+
+    public static final String DATABASE = "Database";
+    public static final String SPECIES = "Species";
+    public static final String ROSTER = "Roster";
+    public static final String TOTAL = "Total";
+    public static final int PHASE_COUNT = 3;
+
+    /**
+     * Sve što je potrebno za otvaranje PokemonViewGUI-ja.
+     */
+    public static final class Result {
+
+        private final PokemonDataStore pokemonDataStore;
+        private final WinStatsStore winStatsStore;
+        private final SpeciesRegistry speciesRegistry;
+        private final PagedPokemonList pokemonList;
+
+        private Result(PokemonDataStore pokemonDataStore, WinStatsStore winStatsStore,
+                       SpeciesRegistry speciesRegistry, PagedPokemonList pokemonList) {
+            this.pokemonDataStore = pokemonDataStore;
+            this.winStatsStore = winStatsStore;
+            this.speciesRegistry = speciesRegistry;
+            this.pokemonList = pokemonList;
+        }
+
+        public PokemonDataStore getPokemonDataStore() {
+            return pokemonDataStore;
+        }
+
+        public WinStatsStore getWinStatsStore() {
+            return winStatsStore;
+        }
+
+        public SpeciesRegistry getSpeciesRegistry() {
+            return speciesRegistry;
+        }
+
+        public PagedPokemonList getPokemonList() {
+            return pokemonList;
+        }
+    }
+
+    /**
+     * Prva stranica Pokemona, dohvaćena prije nego što su vrste (potrebne za konverziju) učitane.
+     */
+    private static final class RosterPage {
+
+        private final int size;
+        private final List<PokemonData> firstPage;
+        private final long stamp;
+
+        private RosterPage(int size, List<PokemonData> firstPage, long stamp) {
+            this.size = size;
+            this.firstPage = firstPage;
+            this.stamp = stamp;
+        }
+    }
+
+    private final Consumer<String> phaseListener;
+    private final Map<String, Long> phaseMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final ExecutorService executor;
+
+    /**
+     * @param phaseListener poziva se sa nazivom faze kada ta faza završi, iz pozadinskog threada
+     */
+    public StartupOrchestrator(Consumer<String> phaseListener) {
+        this.phaseListener = phaseListener;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(PHASE_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pokreće sve faze.
+     *
+     * @return CompletableFuture koji se završava kada su sve faze završene, odnosno iznimkom prve
+     * faze koja ne uspije
+     */
+    public CompletableFuture<Result> start() {
+        long start = System.nanoTime();
+        CompletableFuture<SessionFactory> database = phase(DATABASE, DatabaseSetup::buildSessionFactory);
+        CompletableFuture<PokemonDataStore> dataStore = database.thenApply(PokemonDataStore::new);
+        // Konvertirani Pokemoni sadrže vrste, pa se nakon osvježavanja vrsta cache Pokemona prazni.
+        CompletableFuture<SpeciesRegistry> species = phase(SPECIES, () -> loadSpecies(() ->
+                dataStore.thenAccept(pokemonDataStore -> pokemonDataStore.getPokemonCache().invalidateAll())));
+        CompletableFuture<RosterPage> roster = dataStore.thenApplyAsync(pokemonDataStore -> timed(ROSTER, () -> {
+            long stamp = pokemonDataStore.getPokemonCache().stamp();
+            return new RosterPage(pokemonDataStore.countPokemon(),
+                    pokemonDataStore.getPokemonDataPage(0, PagedPokemonList.DEFAULT_PAGE_SIZE), stamp);
+        }), executor);
+
+        CompletableFuture<Result> result = roster.thenCombine(species, (rosterPage, speciesRegistry) -> {
+            // Isti store (a time i cache Pokemona) se koristi za prvu stranicu i za ostatak aplikacije.
+            PokemonDataStore pokemonDataStore = dataStore.join();
+            // Ostale stranice se dohvaćaju van JavaFX threada, a stižu na njega.
+            PagedPokemonList pokemonList = new PagedPokemonList(
+                    new AsyncPokemonDataStore(pokemonDataStore, null, Platform::runLater),
+                    new PokemonTransformer(speciesRegistry), rosterPage.size, rosterPage.firstPage,
+                    rosterPage.stamp);
+            phaseMillis.put(TOTAL, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return new Result(pokemonDataStore, new WinStatsStore(database.join()), speciesRegistry,
+                    pokemonList);
+        });
+        result.whenComplete((r, startupEx) -> executor.shutdown());
+        return result;
+    }
+
+    /**
+     * @return trajanje svake završene faze, npr. "Database 850 ms, Species 40 ms, ..."
+     */
+    public String formatTimings() {
+        StringBuilder sb = new StringBuilder();
+        synchronized (phaseMillis) {
+            for (Map.Entry<String, Long> entry : phaseMillis.entrySet()) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(entry.getKey()).append(' ').append(entry.getValue()).append(" ms");
+            }
+        }
+        return sb.toString();
+    }
+
+    public Map<String, Long> getPhaseMillis() {
+        synchronized (phaseMillis) {
+            return new LinkedHashMap<>(phaseMillis);
+        }
+    }
+
+    private <T> CompletableFuture<T> phase(String name, Callable<T> action) {
+        return CompletableFuture.supplyAsync(() -> timed(name, action), executor);
+    }
+
+    private <T> T timed(String name, Callable<T> action) {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = action.call();
+        } catch (Exception phaseEx) {
+            throw new CompletionException(phaseEx);
+        }
+        phaseMillis.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        phaseListener.accept(name);
+        return result;
+    }
+
+    /**
+     * Kreira registar Pokemon vrsta i učitava vrste. Ako na disku postoji ispravan snapshot vrsta,
+     * vrste se učitavaju iz njega, a PokeDex stranica se dohvaća u pozadini, samo radi
+     * osvježavanja snapshota (i registra). U suprotnom (snapshot ne postoji, oštećen je ili je
+     * prazan) se vrste jednokratno dohvaćaju sa weba, te se odmah zapisuje snapshot, kako bi idući
+     * start bio brži.
+     *
+     * @param onRefresh poziva se iz pozadinskog threada, nakon što su vrste u registru osvježene
+     * @return registar vrsta, zajednički za sve prozore
+     * @throws IOException ako ispravan snapshot ne postoji, a vrste nije moguće dohvatiti sa weba
+     */
+    private static SpeciesRegistry loadSpecies(Runnable onRefresh) throws IOException {
+        WebSpeciesLoader webLoader = new WebSpeciesLoader(
+                WebSpeciesLoader.DocumentSource.fromUrl("https://pokemondb.net/pokedex/all"));
+        SpeciesSnapshotLoader snapshotLoader = new SpeciesSnapshotLoader(SpeciesSnapshotLoader.DEFAULT_FILE);
+
+        TreeMap<Integer, PokemonSpecies> snapshotSpecies = readSnapshot(snapshotLoader);
+        if (snapshotSpecies.isEmpty()) {
+            // loadSpecies() umjesto getPokemonSpecies(), jer se alert o grešci ne smije prikazati
+            // van JavaFX threada; greška se prikazuje tek po završetku pokretanja.
+            TreeMap<Integer, PokemonSpecies> species = webLoader.loadSpecies();
+            if (species.isEmpty()) {
+                throw new IOException("No species found on the PokeDex page");
+            }
+            writeSnapshot(snapshotLoader, species);
+            SpeciesRegistry speciesRegistry = new SpeciesRegistry(webLoader);
+            speciesRegistry.refresh(() -> species);
+            return speciesRegistry;
+        }
+
+        SpeciesRegistry speciesRegistry = new SpeciesRegistry(snapshotLoader);
+        speciesRegistry.refresh(() -> snapshotSpecies);
+        Thread refreshThread = new Thread(() -> {
+            try {
+                TreeMap<Integer, PokemonSpecies> species = webLoader.loadSpecies();
+                if (!species.isEmpty()) {
+                    writeSnapshot(snapshotLoader, species);
+                    speciesRegistry.refresh(() -> species);
+                    onRefresh.run();
+                }
+            } catch (IOException | RuntimeException refreshEx) {
+                // Bez mreže se i dalje koristi postojeći snapshot.
+                refreshEx.printStackTrace();
+            }
+        }, "species-refresh");
+        refreshThread.setDaemon(true);
+        refreshThread.start();
+        return speciesRegistry;
+    }
+
+    /**
+     * @return vrste iz snapshota, ili prazna mapa ako snapshot ne postoji ili ga nije moguće pročitati
+     */
+    private static TreeMap<Integer, PokemonSpecies> readSnapshot(SpeciesSnapshotLoader snapshotLoader) {
+        if (!snapshotLoader.exists()) {
+            return new TreeMap<>();
+        }
+        try {
+            return snapshotLoader.read();
+        } catch (IOException readEx) {
+            // Oštećeni snapshot se zamjenjuje novim, nakon dohvaćanja vrsta sa weba.
+            readEx.printStackTrace();
+            return new TreeMap<>();
+        }
+    }
+
+    private static void writeSnapshot(SpeciesSnapshotLoader snapshotLoader, TreeMap<Integer, PokemonSpecies> species) {
+        try {
+            snapshotLoader.write(species);
+        } catch (IOException writeEx) {
+            writeEx.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package pokemon.replay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.items.Bomb;
+import pokemon.domain.items.Item;
+import pokemon.domain.items.Potion;
+import pokemon.domain.moves.Move;
+import pokemon.domain.moves.Moves;
+
+/**
+ * <b>BattleRecord</b> je zapis jedne borbe: seed borbe, početno stanje oba Pokemona (vrsta, HP,
+ * vještine), igračev inventar, te odabiri iz svakog poteza. Iz zapisa je moguće ponovno odigrati
+ * borbu ({@link BattleReplayer}), jer su učinci vještina i predmeta deterministički.
+ * <p>
+ * Vještine se bilježe kodom iz registra {@link Moves}, a potez kao jedan broj: indeks igračevog
+ * odabira (najprije vještine, pa predmeti iz inventara), te indeks neprijateljeve vještine.
+ */
+public final class BattleRecord {
+
+  static final int POTION = 0;
+  static final int BOMB = 1;
+
+  long seed;
+  int playerId;
+  String playerNickname;
+  int playerSpeciesId;
+  int playerHealth;
+  int playerMaxHealth;
+  int[] playerMoves;
+  int enemySpeciesId;
+  int enemyHealth;
+  int enemyMaxHealth;
+  int[] enemyMoves;
+  int[] itemCodes;
+  int[] itemQuantities;
+  int[] turns = new int[16];
+  int turnCount;
+
+  BattleRecord() {
+  }
+
+  /**
+   * Bilježi početno stanje borbe. Poziva se prije prvog poteza.
+   *
+   * @param seed      seed borbe
+   * @param player    igračev Pokemon
+   * @param enemy     neprijateljski Pokemon
+   * @param inventory igračev inventar
+   * @return novi zapis, bez poteza
+   */
+  public static BattleRecord start(long seed, Pokemon player, Pokemon enemy, Inventory inventory) {
+    BattleRecord record = new BattleRecord();
+    record.seed = seed;
+    record.playerId = player.getId();
+    record.playerNickname = player.getNickname();
+    record.playerSpeciesId = player.getSpecies().getId();
+    record.playerHealth = player.getHealth();
+    record.playerMaxHealth = player.getMaxHealth();
+    record.playerMoves = codesOf(player.getMoves());
+    record.enemySpeciesId = enemy.getSpecies().getId();
+    record.enemyHealth = enemy.getHealth();
+    record.enemyMaxHealth = enemy.getMaxHealth();
+    record.enemyMoves = codesOf(enemy.getMoves());
+
+    ArrayList<Item> items = inventory.getItems();
+    record.itemCodes = new int[items.size()];
+    record.itemQuantities = new int[items.size()];
+    for (int i = 0; i < items.size(); i++) {
+      Item item = items.get(i);
+      if (item instanceof Potion) {
+        record.itemCodes[i] = POTION;
+      } else if (item instanceof Bomb) {
+        record.itemCodes[i] = BOMB;
+      } else {
+        throw new IllegalArgumentException("Unsupported item: " + item.getName());
+      }
+      record.itemQuantities[i] = item.getQuantity();
+    }
+    return record;
+  }
+
+  private static int[] codesOf(ArrayList<Move> moves) {
+    int[] codes = new int[moves.size()];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = Moves.codeOf(moves.get(i));
+    }
+    return codes;
+  }
+
+  /**
+   * Bilježi potez.
+   *
+   * @param playerAction   indeks igračevog odabira: indeks vještine, odnosno broj vještina +
+   *                       indeks predmeta u inventaru
+   * @param enemyMoveIndex indeks neprijateljeve vještine, ili -1 ako neprijatelj nije igrao
+   */
+  public void addTurn(int playerAction, int enemyMoveIndex) {
+    if (turnCount == turns.length) {
+      turns = Arrays.copyOf(turns, turns.length * 2);
+    }
+    turns[turnCount++] = (playerAction << 3) | (enemyMoveIndex + 1);
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public int getPlayerId() {
+    return playerId;
+  }
+
+  public int getPlayerSpeciesId() {
+    return playerSpeciesId;
+  }
+
+  public int getEnemySpeciesId() {
+    return enemySpeciesId;
+  }
+
+  public int getTurnCount() {
+    return turnCount;
+  }
+
+  public int getPlayerAction(int turn) {
+    return turns[turn] >>> 3;
+  }
+
+  public int getEnemyMoveIndex(int turn) {
+    return (turns[turn] & 7) - 1;
+  }
+
+  Pokemon createPlayer(Map<Integer, PokemonSpecies> species) {
+    PokemonSpecies playerSpecies = speciesOf(species, playerSpeciesId);
+    return new Pokemon(playerId, playerNickname, playerHealth, playerMaxHealth,
+        playerSpecies.getType(), playerSpecies, movesOf(playerMoves));
+  }
+
+  Pokemon createEnemy(Map<Integer, PokemonSpecies> species) {
+    PokemonSpecies enemySpecies = speciesOf(species, enemySpeciesId);
+    return new Pokemon(enemySpecies.getName(), enemyHealth, enemyMaxHealth,
+        enemySpecies.getType(), enemySpecies, movesOf(enemyMoves));
+  }
+
+  Inventory createInventory() {
+    Inventory inventory = new Inventory();
+    for (int i = 0; i < itemCodes.length; i++) {
+      inventory.getItems().add(itemCodes[i] == POTION
+          ? new Potion(itemQuantities[i]) : new Bomb(itemQuantities[i]));
+    }
+    return inventory;
+  }
+
+  private static PokemonSpecies speciesOf(Map<Integer, PokemonSpecies> species, int speciesId) {
+    PokemonSpecies pokemonSpecies = species.get(speciesId);
+    if (pokemonSpecies == null) {
+      throw new IllegalArgumentException("Unknown species: " + speciesId);
+    }
+    return pokemonSpecies;
+  }
+
+  private static ArrayList<Move> movesOf(int[] codes) {
+    ArrayList<Move> moves = new ArrayList<>(codes.length);
+    for (int code : codes) {
+      moves.add(Moves.byCode(code));
+    }
+    return moves;
+  }
+}
@@ -0,0 +1,112 @@
+package pokemon.replay;
+
+import java.util.ArrayList;
+import java.util.Map;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.EnemyPolicy;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.Usable;
+import pokemon.domain.items.Item;
+import pokemon.domain.moves.Move;
+
+/**
+ * <b>BattleReplayer</b> ponovno odigrava zabilježenu borbu ({@link BattleRecord}), potez po potez,
+ * putem {@link BattleEngine}-a. Stanje nakon proizvoljnog poteza dobiva se sa {@link #seek(int)}:
+ * ako je traženi potez prije trenutnog, borba se ponovno odigrava od početka.
+ */
+public class BattleReplayer {
+
+  private final BattleRecord record;
+  private final Map<Integer, PokemonSpecies> species;
+  private BattleEngine engine;
+  private Inventory inventory;
+  private int turn;
+
+  /**
+   * @param record  zapis borbe
+   * @param species vrste Pokemona, po ID-u (npr. iz SpeciesRegistry-ja)
+   */
+  public BattleReplayer(BattleRecord record, Map<Integer, PokemonSpecies> species) {
+    this.record = record;
+    this.species = species;
+    reset();
+  }
+
+  private void reset() {
+    Pokemon player = record.createPlayer(species);
+    Pokemon enemy = record.createEnemy(species);
+    inventory = record.createInventory();
+    // Neprijateljevi odabiri su zabilježeni, pa se policy ne koristi.
+    engine = new BattleEngine(player, inventory, enemy, EnemyPolicy.RANDOM,
+        new BattleRandom(record.getSeed()));
+    turn = 0;
+  }
+
+  /**
+   * Odigrava sljedeći zabilježeni potez.
+   *
+   * @return rezultat poteza
+   * @throws IllegalStateException ako su svi potezi već odigrani
+   */
+  public BattleEngine.TurnResult step() {
+    if (!hasNext()) {
+      throw new IllegalStateException("No more turns to replay");
+    }
+    BattleEngine.TurnResult turnResult = engine.playerAction(usableOf(record.getPlayerAction(turn)));
+    int enemyMoveIndex = record.getEnemyMoveIndex(turn);
+    if (enemyMoveIndex >= 0) {
+      turnResult = engine.enemyAction(enemyMoveIndex);
+    }
+    turn++;
+    return turnResult;
+  }
+
+  /**
+   * Postavlja borbu u stanje nakon datog broja poteza.
+   *
+   * @param turn broj odigranih poteza, između 0 i {@link BattleRecord#getTurnCount()}
+   */
+  public void seek(int turn) {
+    if (turn < 0 || turn > record.getTurnCount()) {
+      throw new IllegalArgumentException("Turn out of range: " + turn);
+    }
+    if (turn < this.turn) {
+      reset();
+    }
+    while (this.turn < turn) {
+      step();
+    }
+  }
+
+  private Usable usableOf(int playerAction) {
+    ArrayList<Move> moves = engine.getPlayer().getMoves();
+    if (playerAction < moves.size()) {
+      return moves.get(playerAction);
+    }
+    ArrayList<Item> items = inventory.getItems();
+    return items.get(playerAction - moves.size());
+  }
+
+  public boolean hasNext() {
+    return turn < record.getTurnCount();
+  }
+
+  public int getTurn() {
+    return turn;
+  }
+
+  public Pokemon getPlayer() {
+    return engine.getPlayer();
+  }
+
+  public Pokemon getEnemy() {
+    return engine.getEnemy();
+  }
+
+  public BattleEngine.Outcome getOutcome() {
+    return engine.getOutcome();
+  }
+}
@@ -0,0 +1,244 @@
+package pokemon.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <b>ReplayLog</b> je datoteka u koju se zapisi borbi ({@link BattleRecord}) samo dodaju na kraj.
+ * Zapisi se kodiraju kompaktno: svi brojevi osim seeda su varint (LEB128), pa prosječna borba
+ * zauzima nekoliko desetaka bajtova. Format:
+ * <ul>
+ *   <li>zaglavlje: magic (int, "PKRP"), verzija (byte)</li>
+ *   <li>za svaku borbu: dužina zapisa (varint), te zapis: seed (long), igračev id, vrsta, HP i max
+ *   HP, nadimak (varint dužina + UTF-8), broj i kodovi vještina; neprijateljeva vrsta, HP, max HP,
+ *   broj i kodovi vještina; broj predmeta, te kod i količina svakog predmeta; broj poteza, te po
+ *   jedan varint za svaki potez</li>
+ * </ul>
+ * Zapisi se kodiraju u bafer, a u FileChannel se zapisuju kod {@link #flush()}, ili kada se bafer
+ * napuni. Klasa je thread-safe.
+ */
+public class ReplayLog implements Closeable {
+
+  /**
+   * Defaultna lokacija loga, unutar korisnikovog home direktorija.
+   */
+  public static final Path DEFAULT_FILE =
+      Paths.get(System.getProperty("user.home"), ".pokemon", "battles.log");
+
+  static final int MAGIC = 0x504B5250; // "PKRP"
+  static final byte VERSION = 1;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  private final ByteBuffer recordBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+  /**
+   * Otvara log za dodavanje zapisa. Ako datoteka ne postoji, kreira se (zajedno sa zaglavljem).
+   *
+   * @param file datoteka loga
+   * @throws IOException ako datoteku nije moguće otvoriti
+   */
+  public ReplayLog(Path file) throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+    if (channel.size() == 0) {
+      buffer.putInt(MAGIC).put(VERSION);
+      flush();
+    }
+  }
+
+  /**
+   * Dodaje zapis borbe u bafer.
+   *
+   * @param record zapis borbe
+   * @throws IOException ako zapisivanje napunjenog bafera ne uspije, ili je zapis prevelik
+   */
+  public synchronized void append(BattleRecord record) throws IOException {
+    recordBuffer.clear();
+    try {
+      encode(record, recordBuffer);
+    } catch (BufferOverflowException e) {
+      throw new IOException("Battle record too large", e);
+    }
+    recordBuffer.flip();
+    if (buffer.remaining() < recordBuffer.remaining() + 5) {
+      flush();
+    }
+    writeVarint(buffer, recordBuffer.remaining());
+    buffer.put(recordBuffer);
+  }
+
+  /**
+   * Zapisuje sadržaj bafera u datoteku.
+   *
+   * @throws IOException ako zapisivanje ne uspije
+   */
+  public synchronized void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Čita sve zapise iz loga.
+   *
+   * @param file datoteka loga
+   * @return zapisi borbi, redom kojim su dodani
+   * @throws IOException ako datoteku nije moguće pročitati, ili nije ispravnog formata
+   */
+  public static List<BattleRecord> readAll(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a replay log: " + file);
+      }
+      byte version = buffer.get();
+      if (version != VERSION) {
+        throw new IOException("Unsupported replay log version: " + version);
+      }
+
+      List<BattleRecord> records = new ArrayList<>();
+      while (buffer.hasRemaining()) {
+        int length = readVarint(buffer);
+        int end = buffer.position() + length;
+        records.add(decode(buffer));
+        if (buffer.position() != end) {
+          throw new IOException("Corrupt battle record at " + (end - length));
+        }
+      }
+      return records;
+    } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+      throw new IOException("Truncated or corrupt replay log: " + file, e);
+    }
+  }
+
+  static void encode(BattleRecord record, ByteBuffer out) {
+    out.putLong(record.seed);
+    writeVarint(out, record.playerId);
+    writeVarint(out, record.playerSpeciesId);
+    writeVarint(out, record.playerHealth);
+    writeVarint(out, record.playerMaxHealth);
+    byte[] nickname = record.playerNickname.getBytes(StandardCharsets.UTF_8);
+    writeVarint(out, nickname.length);
+    out.put(nickname);
+    writeCodes(out, record.playerMoves);
+
+    writeVarint(out, record.enemySpeciesId);
+    writeVarint(out, record.enemyHealth);
+    writeVarint(out, record.enemyMaxHealth);
+    writeCodes(out, record.enemyMoves);
+
+    writeVarint(out, record.itemCodes.length);
+    for (int i = 0; i < record.itemCodes.length; i++) {
+      writeVarint(out, record.itemCodes[i]);
+      writeVarint(out, record.itemQuantities[i]);
+    }
+
+    writeVarint(out, record.turnCount);
+    for (int i = 0; i < record.turnCount; i++) {
+      writeVarint(out, record.turns[i]);
+    }
+  }
+
+  static BattleRecord decode(ByteBuffer in) {
+    BattleRecord record = new BattleRecord();
+    record.seed = in.getLong();
+    record.playerId = readVarint(in);
+    record.playerSpeciesId = readVarint(in);
+    record.playerHealth = readVarint(in);
+    record.playerMaxHealth = readVarint(in);
+    byte[] nickname = new byte[readVarint(in)];
+    in.get(nickname);
+    record.playerNickname = new String(nickname, StandardCharsets.UTF_8);
+    record.playerMoves = readCodes(in);
+
+    record.enemySpeciesId = readVarint(in);
+    record.enemyHealth = readVarint(in);
+    record.enemyMaxHealth = readVarint(in);
+    record.enemyMoves = readCodes(in);
+
+    int itemCount = readVarint(in);
+    record.itemCodes = new int[itemCount];
+    record.itemQuantities = new int[itemCount];
+    for (int i = 0; i < itemCount; i++) {
+      record.itemCodes[i] = readVarint(in);
+      if (record.itemCodes[i] != BattleRecord.POTION && record.itemCodes[i] != BattleRecord.BOMB) {
+        throw new IllegalArgumentException("Unknown item code: " + record.itemCodes[i]);
+      }
+      record.itemQuantities[i] = readVarint(in);
+    }
+
+    record.turnCount = readVarint(in);
+    record.turns = new int[Math.max(record.turnCount, 1)];
+    for (int i = 0; i < record.turnCount; i++) {
+      record.turns[i] = readVarint(in);
+    }
+    return record;
+  }
+
+  private static void writeCodes(ByteBuffer out, int[] codes) {
+    writeVarint(out, codes.length);
+    for (int code : codes) {
+      writeVarint(out, code);
+    }
+  }
+
+  private static int[] readCodes(ByteBuffer in) {
+    int[] codes = new int[readVarint(in)];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = readVarint(in);
+    }
+    return codes;
+  }
+
+  /**
+   * Zapisuje nenegativan broj kao varint: 7 bitova po bajtu, najviši bit označava nastavak.
+   */
+  static void writeVarint(ByteBuffer out, int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Negative varint: " + value);
+    }
+    while (value >= 0x80) {
+      out.put((byte) (value | 0x80));
+      value >>>= 7;
+    }
+    out.put((byte) value);
+  }
+
+  static int readVarint(ByteBuffer in) {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = in.get();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+}
@@ -0,0 +1,172 @@
+package pokemon.simulation;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import pokemon.datastore.DatabaseSetup;
+import pokemon.datastore.PokemonData;
+import pokemon.datastore.PokemonDataStore;
+import pokemon.datastore.PokemonTransformer;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.BattleUtils;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonSpeciesLoader;
+import pokemon.domain.SpeciesRegistry;
+
+/**
+ * <b>AutoBattleRunner</b> automatski odigrava borbe za Pokemone spremljene u databazi, bez GUI-ja.
+ * Svaki Pokemon odigrava zadati broj borbi protiv nasumično generiranih neprijatelja (kao u
+ * BattleGUI), pri čemu se HP prenosi iz borbe u borbu; Pokemon sa 0 HP-a prestaje sa borbama.
+ * <p>
+ * Pokemoni se čitaju stranicu po stranicu ({@link PokemonDataStore#getPokemonDataPage(int, int)}),
+ * pa u memoriji nije cijela tablica. Pokemoni jedne stranice se bore paralelno, svaki sa vlastitim
+ * {@link BattleRandom}-om, a rezultati stranice se potom zapisuju odjednom, u jednoj transakciji
+ * ({@link PokemonDataStore#saveBattleResults(Map, int)}): novi HP svih Pokemona jednim JDBC
+ * batchom, te sve pobjede stranice jednim UPDATE upitom. Time se izbjegava po jedan update i jedan
+ * inkrement pobjeda za svaku borbu, a HP i pobjede stranice su uvijek zapisani zajedno.
+ */
+public class AutoBattleRunner {
+
+  public static final int DEFAULT_CHUNK_SIZE = 200;
+
+  private final PokemonDataStore pokemonDataStore;
+  private final PokemonTransformer pokemonTransformer;
+  private final PokemonSpeciesLoader speciesLoader;
+  private final int battlesPerPokemon;
+  private final int chunkSize;
+  private final int maxTurns;
+  private int pokemonCount;
+  private long battleCount;
+  private long winCount;
+
+  public AutoBattleRunner(PokemonDataStore pokemonDataStore, PokemonSpeciesLoader speciesLoader,
+      int battlesPerPokemon, int chunkSize, int maxTurns) {
+    this.pokemonDataStore = pokemonDataStore;
+    this.pokemonTransformer = new PokemonTransformer(speciesLoader);
+    this.speciesLoader = speciesLoader;
+    this.battlesPerPokemon = battlesPerPokemon;
+    this.chunkSize = chunkSize;
+    this.maxTurns = maxTurns;
+  }
+
+  /**
+   * Pokretanje: {@code AutoBattleRunner [broj borbi po Pokemonu] [najveći broj Pokemona] [seed]}.
+   * Vrste se učitavaju iz snapshota vrsta, ako postoji, a inače sa weba; ako se ne učita nijedna
+   * vrsta, pokretanje se prekida prije prve borbe.
+   */
+  public static void main(String[] args) throws IOException {
+    int battlesPerPokemon = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+    int limit = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+    TreeMap<Integer, PokemonSpecies> species = new TreeMap<>();
+    for (PokemonSpecies pokemonSpecies : MatchupSimulator.loadSpecies()) {
+      species.put(pokemonSpecies.getId(), pokemonSpecies);
+    }
+    PokemonSpeciesLoader speciesLoader = new SpeciesRegistry(() -> species);
+
+    try (SessionFactory factory = DatabaseSetup.buildSessionFactory()) {
+      AutoBattleRunner runner = new AutoBattleRunner(new PokemonDataStore(factory), speciesLoader,
+          battlesPerPokemon, DEFAULT_CHUNK_SIZE, HeadlessBattle.DEFAULT_MAX_TURNS);
+      long start = System.nanoTime();
+      runner.run(limit, seed, pokemonDone ->
+          System.out.printf("%d Pokemon done, %d battles%n", pokemonDone, runner.getBattleCount()));
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("%d Pokemon, %d battles, %d wins in %.1f s%n", runner.getPokemonCount(),
+          runner.getBattleCount(), runner.getWinCount(), seconds);
+    }
+  }
+
+  public int getPokemonCount() {
+    return pokemonCount;
+  }
+
+  public long getBattleCount() {
+    return battleCount;
+  }
+
+  public long getWinCount() {
+    return winCount;
+  }
+
+  /**
+   * Odigrava borbe za najviše limit Pokemona, redom po id-ju, te nakon svake stranice zapisuje
+   * rezultate. Ako zapisivanje ne uspije, već zapisane stranice ostaju zapisane.
+   *
+   * @param limit najveći broj Pokemona
+   * @param seed  glavni seed; svaki Pokemon dobiva vlastiti seed, izveden iz glavnog
+   * @throws org.hibernate.HibernateException ako čitanje ili zapisivanje ne uspije
+   */
+  public void run(int limit, long seed) {
+    run(limit, seed, pokemonDone -> { });
+  }
+
+  /**
+   * Isto kao {@link #run(int, long)}, ali se nakon zapisivanja svake stranice javlja napredak.
+   *
+   * @param limit        najveći broj Pokemona
+   * @param seed         glavni seed; svaki Pokemon dobiva vlastiti seed, izveden iz glavnog
+   * @param onChunkSaved prima broj dosad obrađenih Pokemona
+   * @throws org.hibernate.HibernateException ako čitanje ili zapisivanje ne uspije
+   */
+  public void run(int limit, long seed, IntConsumer onChunkSaved) {
+    BattleRandom seeds = new BattleRandom(seed);
+    int lastId = 0;
+    while (pokemonCount < limit) {
+      List<PokemonData> page = pokemonDataStore.getPokemonDataPage(lastId,
+          Math.min(chunkSize, limit - pokemonCount));
+      if (page.isEmpty()) {
+        break;
+      }
+      lastId = page.get(page.size() - 1).getId();
+
+      int size = page.size();
+      long[] pokemonSeeds = new long[size];
+      for (int i = 0; i < size; i++) {
+        pokemonSeeds[i] = seeds.nextLong();
+      }
+      int[] health = new int[size];
+      int[] battles = new int[size];
+      int[] wins = new int[size];
+      IntStream.range(0, size).parallel().forEach(i -> {
+        Pokemon player = pokemonTransformer.convert(page.get(i));
+        BattleRandom random = new BattleRandom(pokemonSeeds[i]);
+        while (battles[i] < battlesPerPokemon && player.getHealth() > 0) {
+          Pokemon enemy = BattleUtils.setUpEnemyPokemon(speciesLoader, random);
+          Inventory inventory = new Inventory();
+          inventory.generateInventory(random);
+          if (HeadlessBattle.run(player, inventory, enemy, random.split(), maxTurns)
+              == BattleEngine.Outcome.PLAYER_WON) {
+            wins[i]++;
+          }
+          battles[i]++;
+        }
+        health[i] = player.getHealth();
+      });
+
+      Map<Integer, Integer> healthById = new HashMap<>();
+      int chunkWins = 0;
+      for (int i = 0; i < size; i++) {
+        PokemonData pokemonData = page.get(i);
+        if (health[i] != pokemonData.getHealth()) {
+          healthById.put(pokemonData.getId(), health[i]);
+        }
+        battleCount += battles[i];
+        chunkWins += wins[i];
+      }
+      pokemonDataStore.saveBattleResults(healthById, chunkWins);
+
+      pokemonCount += size;
+      winCount += chunkWins;
+      onChunkSaved.accept(pokemonCount);
+    }
+  }
+}
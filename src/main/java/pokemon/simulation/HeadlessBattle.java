@@ -0,0 +1,92 @@
+package pokemon.simulation;
+
+import java.util.ArrayList;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.BattleUtils;
+import pokemon.domain.EnemyPolicy;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.Usable;
+import pokemon.domain.items.Item;
+import pokemon.domain.moves.Move;
+
+/**
+ * Pomoćna klasa za odigravanje cijele borbe bez GUI-ja. Oba Pokemona dobivaju nasumične vještine
+ * (kao u BattleGUI), a igrač i nasumičan inventar. Igrač u svakom potezu nasumično bira neku od
+ * svojih vještina ili preostalih predmeta, a neprijatelj nasumično bira vještinu.
+ */
+public final class HeadlessBattle {
+
+  /**
+   * Ako borba traje duže od ovog broja poteza (npr. dva Pokemona koja znaju samo Splash), smatra se
+   * neriješenom.
+   */
+  public static final int DEFAULT_MAX_TURNS = 200;
+
+  private HeadlessBattle() {
+  }
+
+  /**
+   * Odigrava borbu između dvije vrste.
+   *
+   * @param playerSpecies vrsta igračevog Pokemona
+   * @param enemySpecies  vrsta neprijateljskog Pokemona
+   * @param random        izvor slučajnih brojeva, za vještine, inventar i odabire
+   * @param maxTurns      maksimalni broj poteza; nakon toga je borba neriješena
+   * @return ishod borbe, iz igračeve perspektive
+   */
+  public static BattleEngine.Outcome run(PokemonSpecies playerSpecies, PokemonSpecies enemySpecies,
+      BattleRandom random, int maxTurns) {
+    Pokemon player = BattleUtils.setUpPokemon(playerSpecies, random);
+    Pokemon enemy = BattleUtils.setUpPokemon(enemySpecies, random);
+    Inventory inventory = new Inventory();
+    inventory.generateInventory(random);
+    return run(player, inventory, enemy, random, maxTurns);
+  }
+
+  /**
+   * Odigrava borbu između dva postojeća Pokemona. Borba mijenja HP oba Pokemona i količine
+   * predmeta u inventaru.
+   *
+   * @param player    igračev Pokemon
+   * @param inventory igračev inventar
+   * @param enemy     neprijateljski Pokemon
+   * @param random    izvor slučajnih brojeva, za odabire
+   * @param maxTurns  maksimalni broj poteza; nakon toga je borba neriješena
+   * @return ishod borbe, iz igračeve perspektive
+   */
+  public static BattleEngine.Outcome run(Pokemon player, Inventory inventory, Pokemon enemy,
+      BattleRandom random, int maxTurns) {
+    BattleEngine engine = new BattleEngine(player, inventory, enemy, EnemyPolicy.RANDOM, random);
+    while (!engine.getOutcome().isOver()) {
+      if (engine.getTurnCount() >= maxTurns) {
+        return BattleEngine.Outcome.DRAW;
+      }
+      engine.playTurn(choosePlayerAction(player.getMoves(), inventory.getItems(), random));
+    }
+    return engine.getOutcome();
+  }
+
+  private static Usable choosePlayerAction(ArrayList<Move> moves, ArrayList<Item> items,
+      BattleRandom random) {
+    int availableItems = 0;
+    for (Item item : items) {
+      if (item.getQuantity() > 0) {
+        availableItems++;
+      }
+    }
+    int choice = random.nextInt(moves.size() + availableItems);
+    if (choice < moves.size()) {
+      return moves.get(choice);
+    }
+    choice -= moves.size();
+    for (Item item : items) {
+      if (item.getQuantity() > 0 && choice-- == 0) {
+        return item;
+      }
+    }
+    throw new IllegalStateException("No action available");
+  }
+}
@@ -0,0 +1,183 @@
+package pokemon.simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import pokemon.datastore.SpeciesSnapshotLoader;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.PokemonSpecies;
+import pokemon.web.WebSpeciesLoader;
+
+/**
+ * <b>MatchupSimulator</b> Monte Carlo metodom procjenjuje vjerojatnost pobjede svake vrste protiv
+ * svake druge vrste. Za svaki par vrsta odigrava se zadati broj borbi ({@link HeadlessBattle}), sa
+ * nasumično generiranim vještinama i inventarom.
+ * <p>
+ * Redovi matrice (vrste igrača) se simuliraju paralelno, u common ForkJoinPool-u. Svaki red ima
+ * vlastiti {@link BattleRandom}, čiji se seed deterministički izvodi iz glavnog seeda, a svaka borba
+ * dobiva vlastiti seed od BattleRandom-a svog reda. Rezultat je tako ponovljiv neovisno o broju
+ * threadova i redoslijedu izvršavanja, a svaku pojedinu borbu je moguće ponoviti. Threadovi ne
+ * dijele nikakvo stanje, a pobjede se broje u primitivnim nizovima, lokalnim za red.
+ * <p>
+ * Format izlazne datoteke (big-endian):
+ * <pre>
+ *   int   magic ("PKMX")
+ *   int   verzija formata
+ *   int   n, broj vrsta
+ *   int   broj borbi po paru
+ *   long  seed
+ *   int[n]   ID-jevi vrsta
+ *   float[n * n] udio pobjeda vrste iz reda protiv vrste iz stupca, red po red
+ * </pre>
+ * Neriješene borbe (i borbe prekinute zbog prevelikog broja poteza) ne računaju se kao pobjede.
+ */
+public class MatchupSimulator {
+
+  static final int MAGIC = 0x504B4D58; // "PKMX"
+  static final int VERSION = 1;
+
+  private final List<PokemonSpecies> species;
+  private final int trials;
+  private final long seed;
+  private final int maxTurns;
+
+  public MatchupSimulator(List<PokemonSpecies> species, int trials, long seed, int maxTurns) {
+    this.species = species;
+    this.trials = trials;
+    this.seed = seed;
+    this.maxTurns = maxTurns;
+  }
+
+  /**
+   * Pokretanje: {@code MatchupSimulator [broj borbi po paru] [izlazna datoteka] [seed]}. Vrste se
+   * učitavaju iz snapshota vrsta, ako postoji, a inače sa weba.
+   */
+  public static void main(String[] args) throws IOException {
+    int trials = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    Path output = Paths.get(args.length > 1 ? args[1] : "matchups.bin");
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+    List<PokemonSpecies> species = loadSpecies();
+    System.out.printf("Simulating %d species, %d trials per pair, seed %d, %d threads%n",
+        species.size(), trials, seed, Runtime.getRuntime().availableProcessors());
+
+    MatchupSimulator simulator = new MatchupSimulator(species, trials, seed,
+        HeadlessBattle.DEFAULT_MAX_TURNS);
+    int reportEvery = Math.max(1, species.size() / 20);
+    long start = System.nanoTime();
+    float[] winRates = simulator.simulate(completed -> {
+      if (completed % reportEvery == 0) {
+        System.out.printf("%d/%d species done%n", completed, species.size());
+      }
+    });
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    long battles = (long) species.size() * species.size() * trials;
+    System.out.printf("%d battles in %.1f s (%.0f trials/s)%n", battles, seconds, battles / seconds);
+    simulator.write(output, winRates);
+    System.out.println("Matchup matrix written to " + output.toAbsolutePath());
+  }
+
+  /**
+   * Učitava vrste iz snapshota vrsta, ako postoji, a inače sa weba.
+   *
+   * @return lista vrsta, poredanih po ID-u
+   * @throws IOException ako vrste nije moguće učitati, ili nije učitana nijedna vrsta
+   */
+  static List<PokemonSpecies> loadSpecies() throws IOException {
+    SpeciesSnapshotLoader snapshotLoader = new SpeciesSnapshotLoader(SpeciesSnapshotLoader.DEFAULT_FILE);
+    TreeMap<Integer, PokemonSpecies> species;
+    if (snapshotLoader.exists()) {
+      species = snapshotLoader.read();
+    } else {
+      WebSpeciesLoader webLoader = new WebSpeciesLoader(
+          WebSpeciesLoader.DocumentSource.fromUrl("https://pokemondb.net/pokedex/all"));
+      species = webLoader.loadSpecies();
+    }
+    if (species.isEmpty()) {
+      throw new IOException("No species loaded");
+    }
+    return new ArrayList<>(species.values());
+  }
+
+  /**
+   * Simulira sve parove vrsta.
+   *
+   * @return matrica udjela pobjeda, red po red (n * n)
+   */
+  public float[] simulate() {
+    return simulate(completed -> { });
+  }
+
+  /**
+   * Simulira sve parove vrsta, te nakon svakog simuliranog reda javlja napredak.
+   *
+   * @param onRowDone prima broj dosad simuliranih redova; poziva se sa threada koji je simulirao
+   *                  red, pa mora biti thread-safe
+   * @return matrica udjela pobjeda, red po red (n * n)
+   */
+  public float[] simulate(IntConsumer onRowDone) {
+    int n = species.size();
+    float[] winRates = new float[n * n];
+    BattleRandom seeds = new BattleRandom(seed);
+    long[] rowSeeds = new long[n];
+    for (int row = 0; row < n; row++) {
+      rowSeeds[row] = seeds.nextLong();
+    }
+    AtomicInteger completedRows = new AtomicInteger();
+
+    IntStream.range(0, n).parallel().forEach(row -> {
+      simulateRow(row, new BattleRandom(rowSeeds[row]), winRates);
+      onRowDone.accept(completedRows.incrementAndGet());
+    });
+    return winRates;
+  }
+
+  private void simulateRow(int row, BattleRandom rowRandom, float[] winRates) {
+    int n = species.size();
+    PokemonSpecies playerSpecies = species.get(row);
+    int[] wins = new int[n];
+    for (int column = 0; column < n; column++) {
+      PokemonSpecies enemySpecies = species.get(column);
+      for (int trial = 0; trial < trials; trial++) {
+        if (HeadlessBattle.run(playerSpecies, enemySpecies, rowRandom.split(), maxTurns)
+            == BattleEngine.Outcome.PLAYER_WON) {
+          wins[column]++;
+        }
+      }
+    }
+    for (int column = 0; column < n; column++) {
+      winRates[row * n + column] = (float) wins[column] / trials;
+    }
+  }
+
+  /**
+   * Zapisuje matricu u datoteku, u formatu opisanom u opisu klase.
+   */
+  public void write(Path file, float[] winRates) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(species.size());
+      out.writeInt(trials);
+      out.writeLong(seed);
+      for (PokemonSpecies pokemonSpecies : species) {
+        out.writeInt(pokemonSpecies.getId());
+      }
+      for (float winRate : winRates) {
+        out.writeFloat(winRate);
+      }
+    }
+  }
+}
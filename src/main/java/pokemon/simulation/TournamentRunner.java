@@ -0,0 +1,326 @@
+package pokemon.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.PokemonSpecies;
+
+/**
+ * <b>TournamentRunner</b> odigrava turnir u kojem svaka vrsta igra protiv svake druge vrste, jednom
+ * kao igrač i jednom kao neprijatelj ({@link HeadlessBattle}), te za svaku vrstu računa Elo rejting.
+ * <p>
+ * Turnir se igra u serijama redova: red je jedna vrsta (igrač) protiv svih ostalih vrsta. Ishod
+ * borbe ne ovisi o rejtinzima, pa se borbe redova serije igraju paralelno, u common ForkJoinPool-u,
+ * a svaki red ishode svojih borbi bilježi u vlastiti niz. Nakon serije se rejtinzi ažuriraju borbu
+ * po borbu, red po red, svaki put prema trenutnim rejtinzima, kao da su se borbe igrale jedna za
+ * drugom. Threadovi tako ne dijele nikakvo promjenjivo stanje, a rezultat ovisi samo o seedu, a ne
+ * o broju threadova niti o veličini serije. Kao i kod {@link MatchupSimulator}, svaki red ima
+ * vlastiti {@link BattleRandom}, izveden iz glavnog seeda.
+ * <p>
+ * Nakon svake serije stanje turnira se zapisuje u checkpoint datoteku, pa se prekinut turnir
+ * nastavlja od posljednje završene serije. Format checkpointa (big-endian):
+ * <pre>
+ *   int   magic ("PKTR")
+ *   int   verzija formata
+ *   long  seed
+ *   int   veličina serije
+ *   int   n, broj vrsta
+ *   int   broj odigranih redova
+ *   int[n]    ID-jevi vrsta
+ *   double[n] rejtinzi
+ *   int[n]    broj odigranih borbi
+ * </pre>
+ */
+public class TournamentRunner {
+
+  static final int MAGIC = 0x504B5452; // "PKTR"
+  // Verzija 2: rejtinzi se ažuriraju borbu po borbu.
+  static final int VERSION = 2;
+  public static final double INITIAL_RATING = 1500;
+  public static final int DEFAULT_BATCH_ROWS = 64;
+  private static final double K_FACTOR = 16;
+
+  private final List<PokemonSpecies> species;
+  private final long seed;
+  private final int batchRows;
+  private final int maxTurns;
+  private final Path checkpoint;
+  private final double[] ratings;
+  private final int[] games;
+  private int completedRows;
+
+  /**
+   * @param species    vrste koje sudjeluju u turniru
+   * @param seed       glavni seed
+   * @param batchRows  broj redova u jednoj seriji
+   * @param maxTurns   maksimalni broj poteza borbe; nakon toga je borba neriješena
+   * @param checkpoint checkpoint datoteka, ili null ako se stanje turnira ne zapisuje
+   */
+  public TournamentRunner(List<PokemonSpecies> species, long seed, int batchRows, int maxTurns,
+      Path checkpoint) {
+    this.species = species;
+    this.seed = seed;
+    this.batchRows = batchRows;
+    this.maxTurns = maxTurns;
+    this.checkpoint = checkpoint;
+    this.ratings = new double[species.size()];
+    this.games = new int[species.size()];
+    Arrays.fill(ratings, INITIAL_RATING);
+  }
+
+  /**
+   * Pokretanje: {@code TournamentRunner [izlazna datoteka] [seed]}. Vrste se učitavaju kao i kod
+   * {@link MatchupSimulator}. Checkpoint se zapisuje pored izlazne datoteke, sa nastavkom .ckpt, te
+   * se briše nakon što je turnir završen.
+   */
+  public static void main(String[] args) throws IOException {
+    Path output = Paths.get(args.length > 0 ? args[0] : "ladder.tsv");
+    long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+    Path checkpoint = Paths.get(output + ".ckpt");
+
+    List<PokemonSpecies> species = MatchupSimulator.loadSpecies();
+    // Redoslijed vrsta mora biti isti kod svakog pokretanja, kako bi se turnir mogao nastaviti.
+    species.sort(Comparator.comparingInt(PokemonSpecies::getId));
+    TournamentRunner runner = new TournamentRunner(species, seed, DEFAULT_BATCH_ROWS,
+        HeadlessBattle.DEFAULT_MAX_TURNS, checkpoint);
+    if (runner.resume()) {
+      System.out.printf("Resuming from %s, %d/%d species done%n", checkpoint,
+          runner.completedRows, species.size());
+    }
+    System.out.printf("Tournament of %d species (%d battles), seed %d, %d threads%n",
+        species.size(), (long) species.size() * (species.size() - 1), seed,
+        Runtime.getRuntime().availableProcessors());
+
+    long start = System.nanoTime();
+    long battles = 0;
+    while (!runner.isFinished()) {
+      battles += runner.playBatch();
+      System.out.printf("%d/%d species done%n", runner.completedRows, species.size());
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%d battles in %.1f s (%.0f battles/s)%n", battles, seconds, battles / seconds);
+
+    runner.writeLadder(output);
+    Files.deleteIfExists(checkpoint);
+    System.out.println("Ladder written to " + output.toAbsolutePath());
+  }
+
+  public double getRating(int index) {
+    return ratings[index];
+  }
+
+  public int getGames(int index) {
+    return games[index];
+  }
+
+  /**
+   * @return true ako su odigrani svi redovi
+   */
+  public boolean isFinished() {
+    return completedRows == species.size();
+  }
+
+  /**
+   * Odigrava sve preostale serije, te nakon svake zapisuje checkpoint.
+   *
+   * @return broj odigranih borbi
+   */
+  public long run() throws IOException {
+    long battles = 0;
+    while (!isFinished()) {
+      battles += playBatch();
+    }
+    return battles;
+  }
+
+  /**
+   * Odigrava iduću seriju redova, te (ako je zadana checkpoint datoteka) zapisuje checkpoint.
+   *
+   * @return broj odigranih borbi
+   */
+  public long playBatch() throws IOException {
+    int n = species.size();
+    int from = completedRows;
+    int to = Math.min(n, from + batchRows);
+    long[] rowSeeds = rowSeeds();
+
+    double[][] scores = new double[to - from][];
+    IntStream.range(from, to).parallel().forEach(row ->
+        scores[row - from] = playRow(row, new BattleRandom(rowSeeds[row])));
+
+    for (int row = from; row < to; row++) {
+      double[] rowScores = scores[row - from];
+      for (int column = 0; column < n; column++) {
+        if (column != row) {
+          double change = K_FACTOR
+              * (rowScores[column] - expectedScore(ratings[row], ratings[column]));
+          ratings[row] += change;
+          ratings[column] -= change;
+          games[row]++;
+          games[column]++;
+        }
+      }
+    }
+    completedRows = to;
+    if (checkpoint != null) {
+      saveCheckpoint();
+    }
+    return (long) (to - from) * (n - 1);
+  }
+
+  /**
+   * Odigrava jedan red: vrsta iz reda, kao igrač, protiv svake druge vrste.
+   *
+   * @return rezultati igrača (1 pobjeda, 0.5 neriješeno, 0 poraz), po vrstama neprijatelja
+   */
+  private double[] playRow(int row, BattleRandom rowRandom) {
+    int n = species.size();
+    double[] scores = new double[n];
+    PokemonSpecies playerSpecies = species.get(row);
+    for (int column = 0; column < n; column++) {
+      if (column == row) {
+        continue;
+      }
+      BattleEngine.Outcome outcome = HeadlessBattle.run(playerSpecies, species.get(column),
+          rowRandom.split(), maxTurns);
+      scores[column] = outcome == BattleEngine.Outcome.PLAYER_WON ? 1
+          : outcome == BattleEngine.Outcome.ENEMY_WON ? 0 : 0.5;
+    }
+    return scores;
+  }
+
+  /**
+   * Očekivani rezultat (vjerojatnost pobjede) igrača sa rejtingom a protiv igrača sa rejtingom b.
+   */
+  static double expectedScore(double a, double b) {
+    return 1 / (1 + Math.pow(10, (b - a) / 400));
+  }
+
+  private long[] rowSeeds() {
+    BattleRandom seeds = new BattleRandom(seed);
+    long[] rowSeeds = new long[species.size()];
+    for (int row = 0; row < rowSeeds.length; row++) {
+      rowSeeds[row] = seeds.nextLong();
+    }
+    return rowSeeds;
+  }
+
+  /**
+   * Učitava stanje turnira iz checkpoint datoteke, ako postoji i ako je zapisana za isti turnir
+   * (isti seed i vrste). Veličina serije ne utječe na rejtinge, pa se turnir može nastaviti i sa
+   * drugom veličinom serije.
+   *
+   * @return true ako je stanje učitano
+   * @throws IOException ako je checkpoint neispravan
+   */
+  public boolean resume() throws IOException {
+    if (checkpoint == null || !Files.isRegularFile(checkpoint)) {
+      return false;
+    }
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(checkpoint), 1 << 16))) {
+      int n = species.size();
+      if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != seed) {
+        return false;
+      }
+      in.readInt(); // veličina serije kod zapisivanja
+      if (in.readInt() != n) {
+        return false;
+      }
+      int rows = in.readInt();
+      if (rows < 0 || rows > n) {
+        throw new IOException("Corrupt checkpoint " + checkpoint + ": " + rows + " of " + n
+            + " rows completed");
+      }
+      for (PokemonSpecies pokemonSpecies : species) {
+        if (in.readInt() != pokemonSpecies.getId()) {
+          return false;
+        }
+      }
+      double[] savedRatings = new double[n];
+      int[] savedGames = new int[n];
+      for (int i = 0; i < n; i++) {
+        savedRatings[i] = in.readDouble();
+      }
+      for (int i = 0; i < n; i++) {
+        savedGames[i] = in.readInt();
+      }
+      System.arraycopy(savedRatings, 0, ratings, 0, n);
+      System.arraycopy(savedGames, 0, games, 0, n);
+      completedRows = rows;
+      return true;
+    }
+  }
+
+  /**
+   * Zapisuje stanje turnira u privremenu datoteku, koja potom zamjenjuje checkpoint, pa prekid
+   * usred zapisivanja ne kvari postojeći checkpoint.
+   */
+  private void saveCheckpoint() throws IOException {
+    Path directory = checkpoint.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path tempFile = Files.createTempFile(directory, "tournament", ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(tempFile), 1 << 16))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(seed);
+        out.writeInt(batchRows);
+        out.writeInt(species.size());
+        out.writeInt(completedRows);
+        for (PokemonSpecies pokemonSpecies : species) {
+          out.writeInt(pokemonSpecies.getId());
+        }
+        for (double rating : ratings) {
+          out.writeDouble(rating);
+        }
+        for (int gameCount : games) {
+          out.writeInt(gameCount);
+        }
+      }
+      Files.move(tempFile, checkpoint, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /**
+   * Zapisuje ljestvicu, poredanu po rejtingu, kao tekstualnu datoteku sa stupcima odvojenim
+   * tabulatorom: poredak, ID, naziv, rejting, broj borbi.
+   */
+  public void writeLadder(Path file) throws IOException {
+    Integer[] order = new Integer[species.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(ratings[b], ratings[a]));
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write("rank\tid\tname\trating\tbattles");
+      writer.newLine();
+      for (int rank = 0; rank < order.length; rank++) {
+        PokemonSpecies pokemonSpecies = species.get(order[rank]);
+        writer.write(String.format(Locale.ROOT, "%d\t%d\t%s\t%.1f\t%d", rank + 1,
+            pokemonSpecies.getId(), pokemonSpecies.getName(), ratings[order[rank]],
+            games[order[rank]]));
+        writer.newLine();
+      }
+    }
+  }
+}
@@ -0,0 +1,439 @@
+package pokemon.web;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.BitSet;
+import java.util.function.Consumer;
+import org.jsoup.nodes.Entities;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+
+/**
+ * Jednoprolazni, streaming parser tablice #pokedex sa
+ * <a href="https://pokemondb.net/pokedex/all">PokeDex kataloga</a>. Za razliku od jsoup-a, ne
+ * gradi DOM, već čita znakove redom kako stižu iz Reader-a, te za svaki red tablice odmah kreira
+ * PokemonSpecies objekat. Pamti samo tekst prvih pet ćelija trenutnog reda.
+ * <p>
+ * Parser nije općeniti HTML parser; razumije tek onoliko HTML-a koliko je potrebno za PokeDex
+ * stranicu: tagove i atribute, komentare, sadržaj script/style elemenata, te HTML entitete.
+ */
+final class PokedexTableParser {
+
+  private static final int CELL_COUNT = 5;
+  private static final int ID_CELL = 0;
+  private static final int NAME_CELL = 1;
+  private static final int TYPE_CELL = 2;
+  private static final int HP_CELL = 4;
+
+  private final Reader reader;
+  private final char[] buffer = new char[8192];
+  private int position;
+  private int limit;
+
+  private final StringBuilder tagName = new StringBuilder();
+  private final StringBuilder attributeName = new StringBuilder();
+  private final StringBuilder attributeValue = new StringBuilder();
+  private final StringBuilder entity = new StringBuilder();
+  private final StringBuilder[] cells = new StringBuilder[CELL_COUNT];
+  private final boolean[] pendingSpace = new boolean[CELL_COUNT];
+  private final BitSet emittedIds = new BitSet();
+
+  private boolean inPokedex;
+  private int nestedTables;
+  private boolean inBody;
+  private boolean inRow;
+  private boolean skipRow;
+  private int cellIndex;
+  private boolean inCell;
+  private String imageUrl;
+
+  PokedexTableParser(Reader reader) {
+    this.reader = reader;
+    for (int i = 0; i < CELL_COUNT; i++) {
+      cells[i] = new StringBuilder();
+    }
+  }
+
+  /**
+   * Parsira tablicu, te svaku vrstu prosljeđuje datom consumeru. Svaki ID vrste se prosljeđuje
+   * samo jednom, i to za prvi red sa tim ID-em (ostali redovi su npr. Mega evolucije).
+   *
+   * @param consumer consumer kojem se prosljeđuju vrste
+   * @throws IOException ako čitanje iz Reader-a ne uspije
+   */
+  void parse(Consumer<PokemonSpecies> consumer) throws IOException {
+    int c;
+    while ((c = read()) != -1) {
+      if (c == '<') {
+        if (!readTag(consumer)) {
+          return; // kraj tablice; ostatak dokumenta nije potreban
+        }
+      } else if (c == '&' && inCell) {
+        appendText(readEntity());
+      } else if (inCell) {
+        appendText((char) c);
+      }
+    }
+    endRow(consumer);
+  }
+
+  /**
+   * Čita tag čiji je '<' upravo pročitan, te ažurira stanje parsera.
+   *
+   * @return false ako je dosegnut kraj #pokedex tablice, true inače
+   */
+  private boolean readTag(Consumer<PokemonSpecies> consumer) throws IOException {
+    int c = read();
+    if (c == '!') {
+      if (read() == '-' && read() == '-') {
+        skipPast("-->");
+      } else {
+        skipPast(">");
+      }
+      return true;
+    } else if (c == '?') {
+      skipPast(">");
+      return true;
+    } else if (c == '/') {
+      readName(read());
+      skipPast(">");
+      return endTag(consumer);
+    } else if (isLetter(c)) {
+      readName(c);
+      startTag(consumer);
+      return true;
+    }
+    // Znak '<' koji ne započinje tag pripada tekstu.
+    if (inCell) {
+      appendText('<');
+      if (c != -1) {
+        appendText((char) c);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Obrađuje početni tag čiji je naziv upravo pročitan u tagName. Čita i atribute, ali pamti samo
+   * one koji su potrebni (id tablice, te data-src slike unutar prve ćelije).
+   */
+  private void startTag(Consumer<PokemonSpecies> consumer) throws IOException {
+    boolean table = is("table");
+    boolean wantsImage = inCell && cellIndex == ID_CELL && imageUrl == null;
+    String id = null;
+
+    int c = read();
+    while (c != -1 && c != '>') {
+      if (Character.isWhitespace(c) || c == '/') {
+        c = read();
+        continue;
+      }
+      attributeName.setLength(0);
+      while (c != -1 && c != '=' && c != '>' && c != '/' && !Character.isWhitespace(c)) {
+        attributeName.append(Character.toLowerCase((char) c));
+        c = read();
+      }
+      while (c != -1 && Character.isWhitespace(c)) {
+        c = read();
+      }
+      attributeValue.setLength(0);
+      if (c == '=') {
+        c = read();
+        while (c != -1 && Character.isWhitespace(c)) {
+          c = read();
+        }
+        if (c == '"' || c == '\'') {
+          int quote = c;
+          c = read();
+          while (c != -1 && c != quote) {
+            if (c == '&') {
+              attributeValue.append(readEntity());
+            } else {
+              attributeValue.append((char) c);
+            }
+            c = read();
+          }
+          c = read();
+        } else {
+          while (c != -1 && c != '>' && !Character.isWhitespace(c)) {
+            if (c == '&') {
+              attributeValue.append(readEntity());
+            } else {
+              attributeValue.append((char) c);
+            }
+            c = read();
+          }
+        }
+      }
+      if (table && "id".contentEquals(attributeName)) {
+        id = attributeValue.toString();
+      } else if (wantsImage && "data-src".contentEquals(attributeName)) {
+        imageUrl = attributeValue.toString();
+        wantsImage = false;
+      }
+    }
+
+    if (is("script") || is("style")) {
+      skipRawText();
+    } else if (table) {
+      if (inPokedex) {
+        nestedTables++;
+      } else if ("pokedex".equals(id)) {
+        inPokedex = true;
+      }
+    } else if (!inPokedex || nestedTables > 0) {
+      return;
+    } else if (is("tbody")) {
+      inBody = true;
+    } else if (inBody && is("tr")) {
+      endRow(consumer);
+      startRow();
+    } else if (inRow && (is("td") || is("th"))) {
+      endCell();
+      cellIndex++;
+      inCell = !skipRow && cellIndex < CELL_COUNT;
+    } else if (inCell && is("br")) {
+      appendText(' ');
+    }
+  }
+
+  /**
+   * Obrađuje završni tag čiji je naziv upravo pročitan u tagName.
+   *
+   * @return false ako je dosegnut kraj #pokedex tablice, true inače
+   */
+  private boolean endTag(Consumer<PokemonSpecies> consumer) {
+    if (!inPokedex) {
+      return true;
+    }
+    if (is("table")) {
+      if (nestedTables > 0) {
+        nestedTables--;
+        return true;
+      }
+      endRow(consumer);
+      return false;
+    }
+    if (nestedTables > 0) {
+      return true;
+    }
+    if (is("td") || is("th")) {
+      endCell();
+    } else if (is("tr")) {
+      endRow(consumer);
+    } else if (is("tbody")) {
+      endRow(consumer);
+      inBody = false;
+    }
+    return true;
+  }
+
+  private void startRow() {
+    inRow = true;
+    skipRow = false;
+    cellIndex = -1;
+    inCell = false;
+    imageUrl = null;
+    for (int i = 0; i < CELL_COUNT; i++) {
+      cells[i].setLength(0);
+      pendingSpace[i] = false;
+    }
+  }
+
+  /**
+   * Zatvara trenutnu ćeliju. Nakon prve ćelije poznat je ID vrste, pa se redovi sa već viđenim
+   * ID-em dalje ne parsiraju.
+   */
+  private void endCell() {
+    if (inCell && cellIndex == ID_CELL) {
+      skipRow = emittedIds.get(parseInt(cells[ID_CELL]));
+    }
+    inCell = false;
+  }
+
+  private void endRow(Consumer<PokemonSpecies> consumer) {
+    if (!inRow) {
+      return;
+    }
+    endCell();
+    inRow = false;
+    if (skipRow || cellIndex < HP_CELL) {
+      return;
+    }
+    int speciesId = parseInt(cells[ID_CELL]);
+    emittedIds.set(speciesId);
+    consumer.accept(new PokemonSpecies(
+        speciesId,
+        cells[NAME_CELL].toString(),
+        PokemonType.valueOf(firstWord(cells[TYPE_CELL]).toUpperCase()),
+        secondaryType(cells[TYPE_CELL]),
+        parseInt(cells[HP_CELL]),
+        imageUrl == null ? "" : imageUrl));
+  }
+
+  /**
+   * Dodaje znak u tekst trenutne ćelije. Kao i kod jsoup-a, uzastopni razmaci se sažimaju u jedan,
+   * a razmaci na početku i kraju teksta se uklanjaju.
+   */
+  private void appendText(char c) {
+    if (Character.isWhitespace(c) || c == ' ') {
+      pendingSpace[cellIndex] = cells[cellIndex].length() > 0;
+    } else {
+      if (pendingSpace[cellIndex]) {
+        cells[cellIndex].append(' ');
+        pendingSpace[cellIndex] = false;
+      }
+      cells[cellIndex].append(c);
+    }
+  }
+
+  private void appendText(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      appendText(text.charAt(i));
+    }
+  }
+
+  /**
+   * Čita HTML entitet čiji je '&' upravo pročitan, te vraća njegovu vrijednost. Nepoznati entiteti
+   * vraćaju se doslovno.
+   */
+  private String readEntity() throws IOException {
+    entity.setLength(0);
+    int c = peek();
+    while (entity.length() < 32 && (isNamePart(c) || c == '#')) {
+      entity.append((char) read());
+      c = peek();
+    }
+    if (c != ';') {
+      return "&" + entity;
+    }
+    read();
+    String name = entity.toString();
+    try {
+      if (name.startsWith("#x") || name.startsWith("#X")) {
+        return new String(Character.toChars(Integer.parseInt(name.substring(2), 16)));
+      } else if (name.startsWith("#")) {
+        return new String(Character.toChars(Integer.parseInt(name.substring(1))));
+      }
+    } catch (IllegalArgumentException invalidEntity) {
+      return "&" + name + ";";
+    }
+    // Imenovane entitete (npr. &eacute;) razrješava jsoup-ova tablica entiteta.
+    String value = Entities.getByName(name);
+    return value.isEmpty() ? "&" + name + ";" : value;
+  }
+
+  private void readName(int first) throws IOException {
+    tagName.setLength(0);
+    if (!isNamePart(first)) {
+      return;
+    }
+    tagName.append(Character.toLowerCase((char) first));
+    while (isNamePart(peek())) {
+      tagName.append(Character.toLowerCase((char) read()));
+    }
+  }
+
+  private boolean is(String name) {
+    return name.contentEquals(tagName);
+  }
+
+  /**
+   * Preskače sadržaj script ili style elementa, sve do njegovog završnog taga.
+   */
+  private void skipRawText() throws IOException {
+    String closing = "</" + tagName;
+    int matched = 0;
+    int c;
+    while ((c = read()) != -1) {
+      if (Character.toLowerCase((char) c) == closing.charAt(matched)) {
+        matched++;
+        if (matched == closing.length()) {
+          skipPast(">");
+          return;
+        }
+      } else {
+        matched = Character.toLowerCase((char) c) == '<' ? 1 : 0;
+      }
+    }
+  }
+
+  private void skipPast(String terminator) throws IOException {
+    int matched = 0;
+    int c;
+    while ((c = read()) != -1) {
+      if (c == terminator.charAt(matched)) {
+        matched++;
+        if (matched == terminator.length()) {
+          return;
+        }
+      } else {
+        matched = c == terminator.charAt(0) ? 1 : 0;
+      }
+    }
+  }
+
+  private static int parseInt(CharSequence text) {
+    int value = 0;
+    if (text.length() == 0) {
+      throw new NumberFormatException("Empty number in Pokedex table");
+    }
+    for (int i = 0; i < text.length(); i++) {
+      int digit = Character.digit(text.charAt(i), 10);
+      if (digit < 0) {
+        throw new NumberFormatException("For input string: \"" + text + "\"");
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static String firstWord(StringBuilder text) {
+    int space = text.indexOf(" ");
+    return space < 0 ? text.toString() : text.substring(0, space);
+  }
+
+  /**
+   * Vraća drugi tip iz ćelije Type (npr. "Grass Poison"), ili null ako vrsta ima samo jedan tip.
+   */
+  private static PokemonType secondaryType(StringBuilder text) {
+    int space = text.indexOf(" ");
+    if (space < 0) {
+      return null;
+    }
+    int end = text.indexOf(" ", space + 1);
+    return PokemonType.valueOf(text.substring(space + 1, end < 0 ? text.length() : end).toUpperCase());
+  }
+
+  private static boolean isNamePart(int c) {
+    return isLetter(c) || (c >= '0' && c <= '9') || c == '-';
+  }
+
+  private static boolean isLetter(int c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private int read() throws IOException {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position++];
+  }
+
+  private int peek() throws IOException {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position];
+  }
+
+  private boolean fill() throws IOException {
+    int count = reader.read(buffer, 0, buffer.length);
+    if (count <= 0) {
+      return false;
+    }
+    position = 0;
+    limit = count;
+    return true;
+  }
+}
@@ -1,15 +1,19 @@
 package pokemon.web;
 
+import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import pokemon.domain.PokemonSpecies;
 import pokemon.domain.PokemonSpeciesLoader;
-import pokemon.domain.PokemonType;
 import pokemon.gui.GUIUtils;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.TreeMap;
 
 
@@ -19,11 +23,9 @@ import java.util.TreeMap;
  */
 public class WebSpeciesLoader implements PokemonSpeciesLoader {
 
-    private final TreeMap<Integer, PokemonSpecies> pokemonSpecies;
     private final DocumentSource documentSource;
 
     public WebSpeciesLoader(DocumentSource documentSource) {
-        pokemonSpecies = new TreeMap<>();
         this.documentSource = documentSource;
     }
 
@@ -33,7 +35,73 @@ public class WebSpeciesLoader implements PokemonSpeciesLoader {
      */
     public interface DocumentSource {
 
+        /**
+         * Vremensko ograničenje uspostave konekcije, te čitanja, kod dohvaćanja sa mreže; jednako
+         * jsoup defaultu.
+         */
+        int TIMEOUT_MILLIS = 30_000;
+
         Document getDocument() throws IOException;
+
+        /**
+         * Otvara Reader nad HTML sadržajem dokumenta, kojeg parser čita znak po znak. Defaultna
+         * implementacija serijalizira dokument koji vraća getDocument(); izvori koji mogu čitati
+         * direktno iz mreže (vidjeti {@link #fromUrl(String)}) trebaju je nadjačati, kako se ne bi
+         * gradio čitav DOM.
+         *
+         * @return Reader nad HTML sadržajem
+         * @throws IOException ako dokument nije moguće dohvatiti
+         */
+        default Reader openReader() throws IOException {
+            return new StringReader(getDocument().outerHtml());
+        }
+
+        /**
+         * Kreira izvor koji HTML čita direktno sa date adrese, bez kreiranja DOM-a.
+         *
+         * @param url adresa dokumenta
+         * @return DocumentSource objekat
+         */
+        static DocumentSource fromUrl(String url) {
+            return new DocumentSource() {
+                @Override
+                public Document getDocument() throws IOException {
+                    return Jsoup.connect(url).timeout(TIMEOUT_MILLIS).get();
+                }
+
+                @Override
+                public Reader openReader() throws IOException {
+                    URLConnection connection = new URL(url).openConnection();
+                    // Bez ograničenja bi nedostupan server zauvijek blokirao pokretanje aplikacije.
+                    connection.setConnectTimeout(TIMEOUT_MILLIS);
+                    connection.setReadTimeout(TIMEOUT_MILLIS);
+                    connection.addRequestProperty("User-Agent",
+                            "Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0");
+                    return new InputStreamReader(connection.getInputStream(),
+                            charsetOf(connection.getContentType()));
+                }
+            };
+        }
+    }
+
+    /**
+     * Vraća charset naveden u Content-Type zaglavlju, odnosno UTF-8 ako nije naveden (ili nije
+     * podržan).
+     */
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                    try {
+                        return Charset.forName(trimmed.substring(8).replace("\"", ""));
+                    } catch (IllegalArgumentException unsupportedCharset) {
+                        break;
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
     }
 
     /**
@@ -45,7 +113,9 @@ public class WebSpeciesLoader implements PokemonSpeciesLoader {
    *   <li>Type (tip vrste)</li>
    *   <li>HP (defaultni max HP vrste)</li>
    * </ul>
-   * Podatke smješta u TreeMap objekat, koji na kraju i vraća.
+   * Podatke smješta u novi TreeMap objekat, koji na kraju i vraća. Svaki poziv iznova dohvaća i
+   * parsira dokument, pa je za višekratnu upotrebu poželjno koristiti
+   * {@link pokemon.domain.SpeciesRegistry SpeciesRegistry}.
    *
    * @return TreeMap&lt;Integer, PokemonSpecies&gt; mapa Pokemon vrsta u formatu {id=PokemonSpecies(id,
    * name, type, hp, imageUrl)}
@@ -53,27 +123,28 @@ public class WebSpeciesLoader implements PokemonSpeciesLoader {
   @Override
   public TreeMap<Integer, PokemonSpecies> getPokemonSpecies() {
     try {
-      Document doc = documentSource.getDocument();
-      Elements pokemonRows = doc.select("#pokedex > tbody:nth-child(2) > tr");
-      for (Element row : pokemonRows) {
-        List<String> cellsTextVals = row.select("td:lt(5)").eachText();
-        int speciesID = Integer.parseInt(cellsTextVals.get(0));
-        cellsTextVals.remove(3); // Uklanja se tekst (barem zasad) suvišne ćelije
-        if (!pokemonSpecies.containsKey(speciesID)) {
-          String imageLink = row.select("td:eq(0) > span > span[data-src]").attr("data-src");
-          pokemonSpecies.put(speciesID,
-                  new PokemonSpecies(
-                          speciesID,
-                          cellsTextVals.get(1),
-                          PokemonType.valueOf(cellsTextVals.get(2).split(" ")[0].toUpperCase()),
-                          Integer.parseInt(cellsTextVals.get(3)),
-                          imageLink)
-          );
-        }
-      }
+      return loadSpecies();
     } catch (IOException e) {
       GUIUtils.displayAlert("Could not read the HTML document!");
       e.printStackTrace();
+      return new TreeMap<>();
+    }
+  }
+
+  /**
+   * Radi isto što i {@link #getPokemonSpecies()}, ali ne prikazuje alert u slučaju greške, već
+   * prosljeđuje izuzetak. Korisno kod osvježavanja vrsta u pozadini, kad korisnika ne treba
+   * obavještavati o (npr.) nedostupnosti mreže.
+   *
+   * @return TreeMap&lt;Integer, PokemonSpecies&gt; mapa Pokemon vrsta
+   * @throws IOException ako dokument nije moguće dohvatiti
+   */
+  public TreeMap<Integer, PokemonSpecies> loadSpecies() throws IOException {
+    TreeMap<Integer, PokemonSpecies> pokemonSpecies = new TreeMap<>();
+    // Parser vrste kreira dok čita dokument, a svaki ID vrste prosljeđuje samo jednom (npr. Mega
+    // evolucije dijele ID sa osnovnom vrstom).
+    try (Reader reader = documentSource.openReader()) {
+      new PokedexTableParser(reader).parse(species -> pokemonSpecies.put(species.getId(), species));
     }
     return pokemonSpecies;
   }
@@ -0,0 +1,87 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.datastore.PokemonData;
+import pokemon.datastore.PokemonDataStore;
+import pokemon.datastore.PokemonMoveData;
+import pokemon.simulation.AutoBattleRunner;
+import pokemon.simulation.HeadlessBattle;
+
+class AutoBattleRunnerTest {
+
+  private static TestPokemonDataStore pokemonDataStoreWith(int count) {
+    TestPokemonDataStore pokemonDataStore = new TestPokemonDataStore();
+    for (int id = 1; id <= count; id++) {
+      pokemonDataStore.put(new PokemonData(id, "Pokemon" + id, 200, 200, 1 + id % 4, new ArrayList<>(
+          Arrays.asList(new PokemonMoveData(id, "Ember"), new PokemonMoveData(id, "Take Down")))));
+    }
+    return pokemonDataStore;
+  }
+
+  private static AutoBattleRunner runner(PokemonDataStore pokemonDataStore, int chunkSize) {
+    return new AutoBattleRunner(pokemonDataStore, new PokemonTransformerTest.TestSpeciesLoader(), 3,
+        chunkSize, HeadlessBattle.DEFAULT_MAX_TURNS);
+  }
+
+  @Test
+  @DisplayName("Testira da se Pokemoni čitaju stranicu po stranicu, te da se svaka stranica zapisuje jednom")
+  void readsAndSavesPageByPage() {
+    TestPokemonDataStore pokemonDataStore = pokemonDataStoreWith(5);
+    AutoBattleRunner runner = runner(pokemonDataStore, 2);
+    List<Integer> progress = new ArrayList<>();
+
+    runner.run(Integer.MAX_VALUE, 42, progress::add);
+
+    // Svaka stranica se nastavlja od posljednjeg id-ja prethodne, a prazna stranica završava čitanje.
+    assertEquals(4, pokemonDataStore.getPageRequests().size());
+    int[] expectedLastIds = {0, 2, 4, 5};
+    for (int i = 0; i < expectedLastIds.length; i++) {
+      assertEquals(expectedLastIds[i], pokemonDataStore.getPageRequests().get(i)[0]);
+      assertEquals(2, pokemonDataStore.getPageRequests().get(i)[2]);
+    }
+    assertEquals(Arrays.asList(2, 4, 5), progress);
+    assertEquals(3, pokemonDataStore.getSavedHealth().size());
+    assertTrue(Arrays.asList(1, 2).containsAll(pokemonDataStore.getSavedHealth().get(0).keySet()));
+    assertTrue(Arrays.asList(3, 4).containsAll(pokemonDataStore.getSavedHealth().get(1).keySet()));
+    assertTrue(Arrays.asList(5).containsAll(pokemonDataStore.getSavedHealth().get(2).keySet()));
+
+    assertEquals(5, runner.getPokemonCount());
+    assertTrue(runner.getBattleCount() >= 5 && runner.getBattleCount() <= 5 * 3);
+    assertEquals(runner.getWinCount(), pokemonDataStore.getSavedWins());
+  }
+
+  @Test
+  @DisplayName("Testira da se ne čita više Pokemona od zadatog ograničenja")
+  void stopsAtLimit() {
+    TestPokemonDataStore pokemonDataStore = pokemonDataStoreWith(5);
+    AutoBattleRunner runner = runner(pokemonDataStore, 2);
+
+    runner.run(3, 42);
+
+    assertEquals(2, pokemonDataStore.getPageRequests().size());
+    assertEquals(1, pokemonDataStore.getPageRequests().get(1)[2]);
+    assertEquals(3, runner.getPokemonCount());
+  }
+
+  @Test
+  @DisplayName("Testira da isti seed daje iste rezultate neovisno o veličini stranice")
+  void resultsDoNotDependOnChunkSize() {
+    TestPokemonDataStore smallChunks = pokemonDataStoreWith(5);
+    runner(smallChunks, 2).run(Integer.MAX_VALUE, 42);
+    TestPokemonDataStore singleChunk = pokemonDataStoreWith(5);
+    runner(singleChunk, 10).run(Integer.MAX_VALUE, 42);
+
+    TreeMap<Integer, Integer> smallChunksHealth = new TreeMap<>();
+    smallChunks.getSavedHealth().forEach(smallChunksHealth::putAll);
+    assertEquals(new TreeMap<>(singleChunk.getSavedHealth().get(0)), smallChunksHealth);
+    assertEquals(singleChunk.getSavedWins(), smallChunks.getSavedWins());
+  }
+}
@@ -0,0 +1,60 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+import pokemon.domain.moves.Move;
+import pokemon.domain.moves.Tackle;
+import pokemon.domain.moves.TakeDown;
+
+class BattleEngineTest {
+
+  private static Pokemon pokemon(String nickname, int health, Move move) {
+    return new Pokemon(nickname, health, health, PokemonType.NORMAL,
+        new PokemonSpecies(0, nickname, PokemonType.NORMAL, health, ""),
+        new ArrayList<>(Collections.singletonList(move)));
+  }
+
+  @Test
+  @DisplayName("Testira da oba Pokemona igraju dok jedan od njih ne izgubi")
+  void battleEndsWhenEnemyIsDefeated() {
+    Pokemon player = pokemon("Rattata", 100, new Tackle());
+    Pokemon enemy = pokemon("Pidgey", 50, new Tackle());
+    BattleEngine engine = new BattleEngine(player, enemy, (e, p, inventory, random) -> 0, new BattleRandom(1));
+
+    BattleEngine.TurnResult turnResult = engine.playTurn(player.getMoves().get(0));
+    assertEquals("Rattata used Tackle. Pidgey takes 30 damage!", turnResult.getPlayerMessage());
+    assertEquals("Pidgey used Tackle. Rattata takes 30 damage!", turnResult.getEnemyMessage());
+    assertEquals(0, turnResult.getEnemyMoveIndex());
+    assertEquals(BattleEngine.Outcome.ONGOING, turnResult.getOutcome());
+
+    turnResult = engine.playTurn(player.getMoves().get(0));
+    assertNull(turnResult.getEnemyMessage());
+    assertEquals(-1, turnResult.getEnemyMoveIndex());
+    assertEquals(BattleEngine.Outcome.PLAYER_WON, turnResult.getOutcome());
+    assertEquals(70, player.getHealth());
+    assertEquals(2, engine.getTurnCount());
+    assertThrows(IllegalStateException.class, () -> engine.playTurn(player.getMoves().get(0)));
+  }
+
+  @Test
+  @DisplayName("Testira da je borba neriješena kada oba Pokemona izgube u istom potezu")
+  void recoilCanEndInDraw() {
+    Pokemon player = pokemon("Tauros", 30, new TakeDown());
+    Pokemon enemy = pokemon("Miltank", 60, new Tackle());
+    BattleEngine engine = new BattleEngine(player, enemy);
+
+    assertEquals(BattleEngine.Outcome.DRAW, engine.playTurn(player.getMoves().get(0)).getOutcome());
+  }
+}
@@ -0,0 +1,58 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.BattleEvent;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+import pokemon.domain.items.Potion;
+import pokemon.domain.moves.Moves;
+import pokemon.domain.moves.TakeDown;
+
+class BattleEventTest {
+
+  private final Pokemon player = new Pokemon("Psyduck", 300, 300, PokemonType.WATER,
+      new PokemonSpecies(54, "Psyduck", PokemonType.WATER, 50, ""), new ArrayList<>());
+  private final Pokemon target = new Pokemon("Geodude", 300, 300, PokemonType.ROCK,
+      new PokemonSpecies(74, "Geodude", PokemonType.ROCK, PokemonType.GROUND, 40, ""),
+      new ArrayList<>());
+
+  @Test
+  @DisplayName("Testira da vještina upisuje štetu, učinkovitost i recoil u događaj")
+  void moveRecordsStructuredEvent() {
+    BattleEvent event = new BattleEvent();
+    TakeDown takeDown = new TakeDown();
+    takeDown.use(player, target, event);
+
+    assertEquals(BattleEvent.Kind.DAMAGE, event.getKind());
+    assertSame(player, event.getActor());
+    // NORMAL napad protiv ROCK/GROUND Pokemona je slabo učinkovit.
+    assertEquals(30, event.getAmount());
+    assertEquals(0.5f, event.getEffectiveness());
+    assertEquals(30, event.getRecoil());
+    assertEquals(Moves.TAKE_DOWN.getCode(), event.getMoveCode());
+    assertEquals("Psyduck used Take Down. Geodude takes 30 damage!\nIt's not very effective...\n"
+        + "Psyduck takes 30 recoil damage!", event.render());
+  }
+
+  @Test
+  @DisplayName("Testira da se isti događaj može iskoristiti za više upotreba")
+  void eventIsReusable() {
+    BattleEvent event = new BattleEvent();
+    Moves.BUBBLE.getMove().use(player, target, event);
+    assertTrue(event.isSuperEffective());
+
+    new Potion(1).use(player, player, event);
+    assertEquals(BattleEvent.Kind.HEAL, event.getKind());
+    assertEquals(0, event.getRecoil());
+    assertEquals(-1, event.getMoveCode());
+    assertEquals("Psyduck has restored 50 HP!", event.render());
+  }
+}
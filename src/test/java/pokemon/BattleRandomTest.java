@@ -0,0 +1,55 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.BattleUtils;
+import pokemon.domain.EnemyPolicy;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+
+class BattleRandomTest {
+
+  private final PokemonSpecies charmander = new PokemonSpecies(4, "Charmander", PokemonType.FIRE, 39, "");
+  private final PokemonSpecies squirtle = new PokemonSpecies(7, "Squirtle", PokemonType.WATER, 44, "");
+
+  /**
+   * Odigrava borbu u kojoj oba Pokemona nasumično biraju vještine, te vraća log borbe.
+   */
+  private String playBattle(long seed) {
+    BattleRandom random = new BattleRandom(seed);
+    Pokemon player = BattleUtils.setUpPokemon(charmander, random);
+    Pokemon enemy = BattleUtils.setUpPokemon(squirtle, random);
+    BattleEngine engine = new BattleEngine(player, enemy, EnemyPolicy.RANDOM, random);
+    StringBuilder battleLog = new StringBuilder(player.getMoves() + " " + enemy.getMoves() + "\n");
+    while (!engine.getOutcome().isOver() && engine.getTurnCount() < 100) {
+      BattleEngine.TurnResult turnResult = engine.playTurn(
+          player.getMoves().get(random.nextInt(player.getMoves().size())));
+      battleLog.append(turnResult.getPlayerMessage()).append(turnResult.getEnemyMessage());
+    }
+    return battleLog.append(engine.getOutcome()).toString();
+  }
+
+  @Test
+  @DisplayName("Testira da se borba sa istim seedom odvija identično")
+  void sameSeedReplaysBattle() {
+    assertEquals(playBattle(42), playBattle(42));
+  }
+
+  @Test
+  @DisplayName("Testira da split daje isti niz seedova za isti početni seed")
+  void splitIsDeterministic() {
+    BattleRandom first = new BattleRandom(7);
+    BattleRandom second = new BattleRandom(7);
+    for (int i = 0; i < 10; i++) {
+      BattleRandom firstChild = first.split();
+      BattleRandom secondChild = second.split();
+      assertEquals(firstChild.getSeed(), secondChild.getSeed());
+      assertEquals(firstChild.nextInt(1000), secondChild.nextInt(1000));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+import pokemon.domain.ai.ExpectimaxPolicy;
+import pokemon.domain.items.Potion;
+import pokemon.domain.moves.Move;
+import pokemon.domain.moves.Splash;
+import pokemon.domain.moves.Tackle;
+import pokemon.domain.moves.TakeDown;
+
+class ExpectimaxPolicyTest {
+
+  static Pokemon pokemon(String nickname, int health, int maxHealth, Move... moves) {
+    return new Pokemon(nickname, health, maxHealth, PokemonType.NORMAL,
+        new PokemonSpecies(0, nickname, PokemonType.NORMAL, maxHealth, ""),
+        new ArrayList<>(Arrays.asList(moves)));
+  }
+
+  @Test
+  @DisplayName("Testira da neprijatelj bira vještinu koja pobjeđuje, umjesto one koja završava neriješeno")
+  void prefersWinOverDraw() {
+    Pokemon enemy = pokemon("Tauros", 20, 75, new TakeDown(), new Tackle());
+    Pokemon player = pokemon("Snorlax", 25, 160, new Tackle());
+    ExpectimaxPolicy policy = new ExpectimaxPolicy(50, 8);
+
+    assertEquals(1, policy.chooseMove(enemy, player, new Inventory(), new BattleRandom(1)));
+    assertEquals(20, enemy.getHealth());
+    assertEquals(25, player.getHealth());
+  }
+
+  @Test
+  @DisplayName("Testira da neprijatelj ne bira kozmetičku vještinu, te da pretraživanje ne mijenja inventar")
+  void avoidsUselessMoveAndLeavesInventoryIntact() {
+    Pokemon enemy = pokemon("Magikarp", 100, 100, new Splash(), new Tackle());
+    Pokemon player = pokemon("Eevee", 100, 100, new Tackle());
+    Inventory inventory = new Inventory();
+    inventory.getItems().add(new Potion(2));
+    ExpectimaxPolicy policy = new ExpectimaxPolicy(50, 6);
+
+    assertEquals(1, policy.chooseMove(enemy, player, inventory, new BattleRandom(1)));
+    assertTrue(policy.getLastDepth() >= 1);
+    assertEquals(2, inventory.getItems().get(0).getQuantity());
+  }
+
+  @Test
+  @DisplayName("Testira da zadržana transpozicijska tablica ne skraćuje pretraživanje u idućem potezu")
+  void retainedTableDoesNotLowerDepth() {
+    Pokemon enemy = pokemon("Snorlax", 500, 500, new Splash(), new Tackle());
+    Pokemon player = pokemon("Chansey", 500, 500, new Tackle());
+    Inventory inventory = new Inventory();
+    inventory.getItems().add(new Potion(1));
+    ExpectimaxPolicy policy = new ExpectimaxPolicy(5000, 6);
+
+    policy.chooseMove(enemy, player, inventory, new BattleRandom(1));
+    assertEquals(6, policy.getLastDepth());
+    policy.chooseMove(enemy, player, inventory, new BattleRandom(1));
+    assertEquals(6, policy.getLastDepth());
+  }
+}
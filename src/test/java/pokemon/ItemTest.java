@@ -7,6 +7,7 @@ import java.util.ArrayList;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import pokemon.domain.BattleEvent;
 import pokemon.domain.Pokemon;
 import pokemon.domain.PokemonType;
 import pokemon.domain.items.Item;
@@ -20,8 +21,8 @@ class ItemTest {
     }
 
     @Override
-    protected String useInternal(Pokemon user, Pokemon target) {
-      return "someStuff";
+    protected void useInternal(Pokemon user, Pokemon target, BattleEvent event) {
+      event.message(user, target, this, "someStuff");
     }
   };
 
@@ -0,0 +1,49 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+import pokemon.simulation.HeadlessBattle;
+import pokemon.simulation.MatchupSimulator;
+
+class MatchupSimulatorTest {
+
+  static List<PokemonSpecies> species(int count) {
+    List<PokemonSpecies> species = new ArrayList<>();
+    PokemonType[] types = {PokemonType.FIRE, PokemonType.WATER, PokemonType.GRASS};
+    for (int id = 1; id <= count; id++) {
+      species.add(new PokemonSpecies(id, "Species" + id, types[id % types.length], 40 + 10 * id, ""));
+    }
+    return species;
+  }
+
+  private static float[] simulateWithThreads(MatchupSimulator simulator, int threads)
+      throws InterruptedException, ExecutionException {
+    // Paralelni stream pokrenut iz ForkJoinPool taska izvršava se u tom poolu.
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      return pool.submit(() -> simulator.simulate()).get();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Testira da isti seed daje istu matricu neovisno o broju threadova")
+  void sameSeedGivesSameMatrixForAnyThreadCount() throws Exception {
+    MatchupSimulator simulator = new MatchupSimulator(species(6), 20, 42,
+        HeadlessBattle.DEFAULT_MAX_TURNS);
+
+    float[] singleThreaded = simulateWithThreads(simulator, 1);
+    assertArrayEquals(singleThreaded, simulateWithThreads(simulator, 4));
+    assertArrayEquals(singleThreaded, new MatchupSimulator(species(6), 20, 42,
+        HeadlessBattle.DEFAULT_MAX_TURNS).simulate());
+  }
+}
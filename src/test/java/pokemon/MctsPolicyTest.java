@@ -0,0 +1,51 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pokemon.ExpectimaxPolicyTest.pokemon;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.ai.MctsPolicy;
+import pokemon.domain.items.Bomb;
+import pokemon.domain.moves.Splash;
+import pokemon.domain.moves.Tackle;
+
+class MctsPolicyTest {
+
+  @Test
+  @DisplayName("Testira da neprijatelj ne bira kozmetičku vještinu, te da pretraživanje ne mijenja borbu")
+  void avoidsUselessMoveAndLeavesBattleIntact() {
+    Pokemon enemy = pokemon("Magikarp", 60, 100, new Splash(), new Tackle());
+    Pokemon player = pokemon("Eevee", 60, 100, new Tackle());
+    Inventory inventory = new Inventory();
+    inventory.getItems().add(new Bomb(2));
+    // Budžet je dovoljno velik da thread uvijek dosegne ograničenje broja playout-a.
+    MctsPolicy policy = new MctsPolicy(60_000, 1, 2000);
+
+    assertEquals(1, policy.chooseMove(enemy, player, inventory, new BattleRandom(1)));
+    assertEquals(2000L, policy.getLastPlayouts());
+    assertEquals(60, enemy.getHealth());
+    assertEquals(60, player.getHealth());
+    assertEquals(2, inventory.getItems().get(0).getQuantity());
+  }
+
+  @Test
+  @DisplayName("Testira da isti seed daje iste odabire vještina kada je broj playout-a ograničen")
+  void sameSeedGivesSameChoicesWithPlayoutCap() {
+    Pokemon enemy = pokemon("Magikarp", 100, 100, new Splash(), new Tackle());
+    Pokemon player = pokemon("Eevee", 100, 100, new Tackle());
+    MctsPolicy first = new MctsPolicy(60_000, 2, 300);
+    MctsPolicy second = new MctsPolicy(60_000, 2, 300);
+    BattleRandom firstRandom = new BattleRandom(7);
+    BattleRandom secondRandom = new BattleRandom(7);
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals(first.chooseMove(enemy, player, new Inventory(), firstRandom),
+          second.chooseMove(enemy, player, new Inventory(), secondRandom));
+      assertEquals(first.getLastPlayouts(), second.getLastPlayouts());
+    }
+  }
+}
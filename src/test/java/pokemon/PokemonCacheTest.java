@@ -0,0 +1,94 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.datastore.PokemonCache;
+import pokemon.datastore.PokemonData;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+
+public class PokemonCacheTest {
+
+  private static final PokemonSpecies CHARMANDER = new PokemonSpecies(4, "Charmander",
+      PokemonType.FIRE, 39, "https://img.pokemondb.net/sprites/sword-shield/icon/charmander.png");
+
+  private PokemonCache pokemonCache;
+  private AtomicInteger conversions;
+  private Function<PokemonData, Pokemon> converter;
+
+  @BeforeEach
+  void setUp() {
+    pokemonCache = new PokemonCache(2);
+    conversions = new AtomicInteger();
+    converter = pokemonData -> {
+      conversions.incrementAndGet();
+      return new Pokemon(pokemonData.getId(), pokemonData.getNickname(), pokemonData.getHealth(),
+          pokemonData.getMaxHealth(), CHARMANDER.getType(), CHARMANDER, new ArrayList<>());
+    };
+  }
+
+  private static PokemonData pokemonData(int id, int health) {
+    return new PokemonData(id, "Fido", health, 39, CHARMANDER.getId(), new ArrayList<>());
+  }
+
+  @Test
+  @DisplayName("Nepromijenjeni Pokemon se konvertira samo jednom")
+  public void testUnchangedPokemonIsConvertedOnce() {
+    Pokemon first = pokemonCache.get(pokemonData(1, 20), pokemonCache.stamp(), converter);
+    Pokemon second = pokemonCache.get(pokemonData(1, 20), pokemonCache.stamp(), converter);
+
+    assertSame(first, second);
+    assertEquals(1, conversions.get());
+  }
+
+  @Test
+  @DisplayName("Nakon poništenja se Pokemon ponovno konvertira, dok ostali ostaju u cacheu")
+  public void testInvalidateIsPrecise() {
+    Pokemon other = pokemonCache.get(pokemonData(2, 30), pokemonCache.stamp(), converter);
+    pokemonCache.get(pokemonData(1, 20), pokemonCache.stamp(), converter);
+
+    pokemonCache.invalidate(1);
+    Pokemon healed = pokemonCache.get(pokemonData(1, 39), pokemonCache.stamp(), converter);
+
+    assertEquals(39, healed.getHealth());
+    assertSame(other, pokemonCache.get(pokemonData(2, 30), pokemonCache.stamp(), converter));
+    assertEquals(3, conversions.get());
+  }
+
+  @Test
+  @DisplayName("Čitanje započeto prije poništenja ne sprema zastarjelog Pokemona u cache")
+  public void testReadStartedBeforeInvalidationIsNotCached() {
+    long stamp = pokemonCache.stamp();
+    PokemonData staleData = pokemonData(1, 20); // pročitano prije ozdravljanja
+    pokemonCache.invalidate(1);
+
+    Pokemon stale = pokemonCache.get(staleData, stamp, converter);
+    Pokemon fresh = pokemonCache.get(pokemonData(1, 39), pokemonCache.stamp(), converter);
+
+    assertEquals(20, stale.getHealth());
+    assertNotSame(stale, fresh);
+    assertEquals(39, fresh.getHealth());
+  }
+
+  @Test
+  @DisplayName("Kod prekoračenja kapaciteta izbacuje se najdavnije korišteni Pokemon")
+  public void testCapacityEvictsLeastRecentlyUsed() {
+    pokemonCache.get(pokemonData(1, 20), pokemonCache.stamp(), converter);
+    pokemonCache.get(pokemonData(2, 20), pokemonCache.stamp(), converter);
+    pokemonCache.get(pokemonData(1, 20), pokemonCache.stamp(), converter);
+    pokemonCache.get(pokemonData(3, 20), pokemonCache.stamp(), converter);
+
+    assertEquals(2, pokemonCache.size());
+    pokemonCache.get(pokemonData(1, 20), pokemonCache.stamp(), converter);
+    assertEquals(3, conversions.get());
+  }
+}
@@ -2,8 +2,11 @@ package pokemon;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.TreeMap;
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import pokemon.domain.PokemonSpecies;
@@ -143,6 +146,7 @@ public class PokemonSpeciesLoaderTest {
         1,
         "Bulbasaur",
         PokemonType.GRASS,
+        PokemonType.POISON,
         45,
         "https://img.pokemondb.net/sprites/sword-shield/icon/bulbasaur.png")
     );
@@ -150,6 +154,7 @@ public class PokemonSpeciesLoaderTest {
         2,
         "Ivysaur",
         PokemonType.GRASS,
+        PokemonType.POISON,
         60,
         "https://img.pokemondb.net/sprites/sword-shield/icon/ivysaur.png")
     );
@@ -157,9 +162,42 @@ public class PokemonSpeciesLoaderTest {
         3,
         "Venusaur",
         PokemonType.GRASS,
+        PokemonType.POISON,
         80,
         "https://img.pokemondb.net/sprites/sword-shield/icon/venusaur.png")
     );
     assertEquals(expectedSpecies, pokemonSpecies);
   }
+
+  @Test
+  @DisplayName("Testiranje učitavanja vrsta iz izvora koji HTML čita direktno, bez kreiranja DOM-a")
+  public void assertLoaderReadsSpeciesFromStreamingSource() {
+    String html = "<script>if (a < b) { document.write('<table id=pokedex>'); }</script>"
+        + "<table id=\"pokedex\"><thead><tr><th>#</th></tr></thead><tbody>"
+        + "<tr><td><span><span data-src=\"https://img.pokemondb.net/sprites/sword-shield/icon/flabebe.png\">"
+        + "</span></span><span>669</span></td><td><a>Flab&eacute;b&#233;</a></td>"
+        + "<td><a>Fairy</a></td><td>303</td><td>44</td></tr>"
+        + "</tbody></table>";
+    PokemonSpeciesLoader loader = new WebSpeciesLoader(new WebSpeciesLoader.DocumentSource() {
+      @Override
+      public Document getDocument() {
+        throw new UnsupportedOperationException("DOM should not be built");
+      }
+
+      @Override
+      public Reader openReader() {
+        return new StringReader(html);
+      }
+    });
+
+    TreeMap<Integer, PokemonSpecies> expectedSpecies = new TreeMap<>();
+    expectedSpecies.put(669, new PokemonSpecies(
+        669,
+        "Flabébé",
+        PokemonType.FAIRY,
+        44,
+        "https://img.pokemondb.net/sprites/sword-shield/icon/flabebe.png")
+    );
+    assertEquals(expectedSpecies, loader.getPokemonSpecies());
+  }
 }
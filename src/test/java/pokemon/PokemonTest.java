@@ -26,7 +26,8 @@ class PokemonTest {
   @DisplayName("Testiranje napadačke vještine, tj. da je upotrijebljena zadata vještina, " +
           "i da je vraćena očekivana poruka")
   void useMove() {
-    assertEquals("Treecko used Vine Whip. Bellossom takes 20 damage!", player.useMove(0, target));
+    assertEquals("Treecko used Vine Whip. Bellossom takes 10 damage!\nIt's not very effective...",
+        player.useMove(0, target));
   }
 
 }
\ No newline at end of file
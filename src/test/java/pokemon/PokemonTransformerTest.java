@@ -10,6 +10,7 @@ import pokemon.domain.Pokemon;
 import pokemon.domain.PokemonSpecies;
 import pokemon.domain.PokemonSpeciesLoader;
 import pokemon.domain.PokemonType;
+import pokemon.domain.SpeciesRegistry;
 import pokemon.domain.moves.Bubble;
 import pokemon.domain.moves.Ember;
 import pokemon.domain.moves.Move;
@@ -166,5 +167,15 @@ public class PokemonTransformerTest {
     assertEquals("Bubble", actualMoveDataList.get(2).getMove());
   }
 
+  @Test
+  @DisplayName("Testiranje da transformer nad registrom vidi vrste učitane nakon njegovog kreiranja")
+  public void testTransformerReadsThroughSpeciesRegistry() {
+    SpeciesRegistry speciesRegistry = new SpeciesRegistry(TreeMap::new);
+    PokemonTransformer registryTransformer = new PokemonTransformer(speciesRegistry);
+
+    speciesRegistry.refresh(new TestSpeciesLoader());
+    actualPokemon = registryTransformer.convert(new PokemonData(7, "TestPokemon", 39, 39, 4, new ArrayList<>()));
 
+    assertEquals("Charmander", actualPokemon.getSpecies().getName());
+  }
 }
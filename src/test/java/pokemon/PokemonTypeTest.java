@@ -1,5 +1,6 @@
 package pokemon;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -35,4 +36,21 @@ class PokemonTypeTest {
     assertFalse(PokemonType.NORMAL.isSuperEffective(PokemonType.WATER));
     assertFalse(PokemonType.NORMAL.isSuperEffective(PokemonType.NORMAL));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Testira množitelje slabe učinkovitosti i imuniteta iz tablice učinkovitosti")
+  void effectivenessCoversResistancesAndImmunities() {
+    assertEquals(0.5f, PokemonType.FIRE.effectivenessAgainst(PokemonType.WATER), 0f);
+    assertEquals(0f, PokemonType.NORMAL.effectivenessAgainst(PokemonType.GHOST), 0f);
+    assertEquals(0f, PokemonType.GROUND.effectivenessAgainst(PokemonType.FLYING), 0f);
+    assertEquals(1f, PokemonType.NORMAL.effectivenessAgainst(PokemonType.NORMAL), 0f);
+  }
+
+  @Test
+  @DisplayName("Testira da se množitelji za Pokemona sa dva tipa množe")
+  void effectivenessMultipliesForDualTypes() {
+    assertEquals(4f, PokemonType.GRASS.effectivenessAgainst(PokemonType.WATER, PokemonType.GROUND), 0f);
+    assertEquals(0f, PokemonType.ELECTRIC.effectivenessAgainst(PokemonType.WATER, PokemonType.GROUND), 0f);
+    assertEquals(2f, PokemonType.WATER.effectivenessAgainst(PokemonType.FIRE, null), 0f);
+  }
+}
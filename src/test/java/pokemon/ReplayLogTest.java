@@ -0,0 +1,81 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.BattleEngine;
+import pokemon.domain.BattleRandom;
+import pokemon.domain.BattleUtils;
+import pokemon.domain.EnemyPolicy;
+import pokemon.domain.Inventory;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+import pokemon.domain.Usable;
+import pokemon.replay.BattleRecord;
+import pokemon.replay.BattleReplayer;
+import pokemon.replay.ReplayLog;
+
+class ReplayLogTest {
+
+  private final TreeMap<Integer, PokemonSpecies> species = new TreeMap<>();
+
+  ReplayLogTest() {
+    species.put(25, new PokemonSpecies(25, "Pikachu", PokemonType.ELECTRIC, 35, ""));
+    species.put(74, new PokemonSpecies(74, "Geodude", PokemonType.ROCK, PokemonType.GROUND, 40, ""));
+  }
+
+  @Test
+  @DisplayName("Testira da se borba zapisana u log ponovno odigrava identično, uključujući skok na potez")
+  void recordedBattleIsReplayed() throws IOException {
+    BattleRandom random = new BattleRandom(2024);
+    Pokemon player = BattleUtils.setUpPokemon(species.get(25), random);
+    Pokemon enemy = BattleUtils.setUpPokemon(species.get(74), random);
+    Inventory inventory = new Inventory();
+    inventory.generateInventory(random);
+    BattleRecord record = BattleRecord.start(random.getSeed(), player, enemy, inventory);
+    BattleEngine engine = new BattleEngine(player, enemy, EnemyPolicy.RANDOM, random);
+
+    List<Usable> usables = new ArrayList<>(player.getMoves());
+    usables.addAll(inventory.getItems());
+    List<Integer> enemyHealth = new ArrayList<>();
+    while (!engine.getOutcome().isOver()) {
+      int action = random.nextInt(usables.size());
+      if (action >= player.getMoves().size()
+          && inventory.getItems().get(action - player.getMoves().size()).getQuantity() == 0) {
+        action = 0;
+      }
+      BattleEngine.TurnResult turnResult = engine.playTurn(usables.get(action));
+      record.addTurn(action, turnResult.getEnemyMoveIndex());
+      enemyHealth.add(enemy.getHealth());
+    }
+
+    Path file = Files.createTempDirectory("pokemon").resolve("battles.log");
+    try (ReplayLog replayLog = new ReplayLog(file)) {
+      replayLog.append(record);
+      replayLog.append(record);
+    }
+    List<BattleRecord> records = ReplayLog.readAll(file);
+    assertEquals(2, records.size());
+    assertTrue(Files.size(file) < 200);
+
+    BattleReplayer replayer = new BattleReplayer(records.get(1), species);
+    for (int health : enemyHealth) {
+      replayer.step();
+      assertEquals(health, replayer.getEnemy().getHealth());
+    }
+    assertEquals(engine.getOutcome(), replayer.getOutcome());
+    assertEquals(player.getHealth(), replayer.getPlayer().getHealth());
+
+    replayer.seek(1);
+    assertEquals(enemyHealth.get(0).intValue(), replayer.getEnemy().getHealth());
+  }
+}
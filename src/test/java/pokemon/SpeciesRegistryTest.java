@@ -0,0 +1,100 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonSpeciesLoader;
+import pokemon.domain.PokemonType;
+import pokemon.domain.SpeciesRegistry;
+
+class SpeciesRegistryTest {
+
+  /**
+   * Loader koji broji koliko je puta pozvan, te kod svakog poziva vraća onoliko vrsta koliko je
+   * puta dotad pozvan.
+   */
+  static class CountingSpeciesLoader implements PokemonSpeciesLoader {
+
+    int calls = 0;
+
+    @Override
+    public TreeMap<Integer, PokemonSpecies> getPokemonSpecies() {
+      calls++;
+      TreeMap<Integer, PokemonSpecies> speciesMap = new TreeMap<>();
+      for (int id = 1; id <= calls; id++) {
+        speciesMap.put(id, new PokemonSpecies(id, "Species" + id, PokemonType.NORMAL, 50,
+            "https://img.pokemondb.net/sprites/sword-shield/icon/species" + id + ".png"));
+      }
+      return speciesMap;
+    }
+  }
+
+  private CountingSpeciesLoader loader;
+  private SpeciesRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    loader = new CountingSpeciesLoader();
+    registry = new SpeciesRegistry(loader);
+  }
+
+  @Test
+  @DisplayName("Testira da registar učitava vrste tek kod prvog poziva, i to samo jednom")
+  void loadsLazilyAndOnlyOnce() {
+    assertEquals(0, loader.calls);
+    registry.getPokemonSpecies();
+    registry.getSpeciesList();
+    registry.getSnapshot();
+    assertEquals(1, loader.calls);
+    assertSame(registry.getSnapshot(), registry.getSnapshot());
+  }
+
+  @Test
+  @DisplayName("Testira da snapshot registra nije moguće izmijeniti")
+  void snapshotIsImmutable() {
+    assertThrows(UnsupportedOperationException.class, () -> registry.getSnapshot().remove(1));
+    assertThrows(UnsupportedOperationException.class, () -> registry.getSpeciesList().clear());
+
+    registry.getPokemonSpecies().clear(); // mijenja se samo kopija
+    assertEquals(1, registry.getSnapshot().size());
+  }
+
+  @Test
+  @DisplayName("Testira da refresh zamjenjuje snapshot, osim ako novi loader ne vrati nijednu vrstu")
+  void refreshReplacesSnapshot() {
+    assertEquals(1, registry.getSpeciesList().size());
+
+    assertTrue(registry.refresh());
+    assertEquals(2, registry.getSpeciesList().size());
+
+    assertFalse(registry.refresh(TreeMap::new));
+    assertEquals(2, registry.getSpeciesList().size());
+  }
+
+  @Test
+  @DisplayName("Testira da se prazno prvo učitavanje ne pamti, nego se ponavlja kod sljedećeg poziva")
+  void emptyFirstLoadIsRetried() {
+    TreeMap<Integer, PokemonSpecies> species = new TreeMap<>();
+    int[] calls = {0};
+    SpeciesRegistry emptyFirst = new SpeciesRegistry(() -> {
+      calls[0]++;
+      return new TreeMap<>(species);
+    });
+
+    assertTrue(emptyFirst.getSnapshot().isEmpty());
+    species.putAll(loader.getPokemonSpecies());
+    assertEquals(1, emptyFirst.getSpeciesList().size());
+    assertEquals(2, calls[0]);
+
+    emptyFirst.getSnapshot();
+    assertEquals(2, calls[0]);
+  }
+}
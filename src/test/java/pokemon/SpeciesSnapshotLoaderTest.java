@@ -0,0 +1,50 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.datastore.SpeciesSnapshotLoader;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+
+class SpeciesSnapshotLoaderTest {
+
+  @Test
+  @DisplayName("Testira da se vrste zapisane u snapshot učitavaju nepromijenjene")
+  void writtenSpeciesAreReadBack() throws IOException {
+    Path directory = Files.createTempDirectory("pokemon");
+    SpeciesSnapshotLoader loader = new SpeciesSnapshotLoader(directory.resolve("species.bin"));
+    assertFalse(loader.exists());
+
+    TreeMap<Integer, PokemonSpecies> expectedSpecies = new TreeMap<>();
+    expectedSpecies.put(29, new PokemonSpecies(29, "Nidoran♀", PokemonType.POISON, 55,
+        "https://img.pokemondb.net/sprites/sword-shield/icon/nidoran-f.png"));
+    expectedSpecies.put(193, new PokemonSpecies(193, "Yanma", PokemonType.BUG, PokemonType.FLYING, 65,
+        "https://img.pokemondb.net/sprites/sword-shield/icon/yanma.png"));
+    expectedSpecies.put(669, new PokemonSpecies(669, "Flabébé", PokemonType.FAIRY, 44,
+        "https://img.pokemondb.net/sprites/sword-shield/icon/flabebe.png"));
+    loader.write(expectedSpecies);
+
+    assertTrue(loader.exists());
+    assertEquals(expectedSpecies, loader.getPokemonSpecies());
+  }
+
+  @Test
+  @DisplayName("Testira da se datoteka koja nije snapshot vrsta odbacuje")
+  void invalidSnapshotIsRejected() throws IOException {
+    Path file = Files.createTempFile("species", ".bin");
+    Files.write(file, new byte[]{1, 2, 3, 4, 5, 6});
+    SpeciesSnapshotLoader loader = new SpeciesSnapshotLoader(file);
+
+    assertThrows(IOException.class, loader::read);
+    assertTrue(loader.getPokemonSpecies().isEmpty());
+  }
+}
@@ -0,0 +1,81 @@
+package pokemon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import pokemon.datastore.PokemonData;
+import pokemon.datastore.PokemonDataStore;
+
+/**
+ * Store koji Pokemone čuva u memoriji, poredane po id-ju, umjesto u databazi. Bilježi upite
+ * stranica i zapise rezultata borbi, pa testovi mogu provjeriti kako im se pristupa.
+ */
+public class TestPokemonDataStore extends PokemonDataStore {
+
+  private final TreeMap<Integer, PokemonData> rows = new TreeMap<>();
+  private final List<int[]> pageRequests = new ArrayList<>();
+  private final List<Map<Integer, Integer>> savedHealth = new ArrayList<>();
+  private long savedWins;
+
+  public TestPokemonDataStore() {
+    super(null);
+  }
+
+  public void put(PokemonData pokemonData) {
+    rows.put(pokemonData.getId(), pokemonData);
+  }
+
+  public PokemonData get(int id) {
+    return rows.get(id);
+  }
+
+  /**
+   * Briše Pokemona mimo obavijesti o promjenama, kao da je izbrisan izvan aplikacije.
+   */
+  public void remove(int id) {
+    rows.remove(id);
+  }
+
+  /**
+   * @return upiti stranica, redom, kao nizovi {lastId, offset, pageSize}
+   */
+  public List<int[]> getPageRequests() {
+    return pageRequests;
+  }
+
+  public List<Map<Integer, Integer>> getSavedHealth() {
+    return savedHealth;
+  }
+
+  public long getSavedWins() {
+    return savedWins;
+  }
+
+  @Override
+  public int countPokemon() {
+    return rows.size();
+  }
+
+  @Override
+  public List<PokemonData> getPokemonDataPage(int lastId, int offset, int pageSize) {
+    pageRequests.add(new int[]{lastId, offset, pageSize});
+    List<PokemonData> page = new ArrayList<>();
+    int skipped = 0;
+    for (PokemonData pokemonData : rows.tailMap(lastId, false).values()) {
+      if (page.size() == pageSize) {
+        break;
+      }
+      if (skipped++ >= offset) {
+        page.add(pokemonData);
+      }
+    }
+    return page;
+  }
+
+  @Override
+  public void saveBattleResults(Map<Integer, Integer> healthById, int wins) {
+    savedHealth.add(healthById);
+    savedWins += wins;
+  }
+}
@@ -0,0 +1,90 @@
+package pokemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.domain.PokemonSpecies;
+import pokemon.simulation.HeadlessBattle;
+import pokemon.simulation.TournamentRunner;
+
+class TournamentRunnerTest {
+
+  @Test
+  @DisplayName("Testira da prekinut i nastavljen turnir daje iste rejtinge kao i neprekinut turnir")
+  void resumedTournamentMatchesUninterruptedOne() throws IOException {
+    List<PokemonSpecies> species = MatchupSimulatorTest.species(7);
+    TournamentRunner uninterrupted = new TournamentRunner(species, 42, 2,
+        HeadlessBattle.DEFAULT_MAX_TURNS, null);
+    assertEquals(7L * 6, uninterrupted.run());
+
+    Path checkpoint = Files.createTempDirectory("pokemon").resolve("ladder.tsv.ckpt");
+    TournamentRunner interrupted = new TournamentRunner(species, 42, 2,
+        HeadlessBattle.DEFAULT_MAX_TURNS, checkpoint);
+    interrupted.playBatch();
+    interrupted.playBatch();
+    assertFalse(interrupted.isFinished());
+
+    // Turnir se može nastaviti i sa drugom veličinom serije.
+    TournamentRunner resumed = new TournamentRunner(species, 42, 3,
+        HeadlessBattle.DEFAULT_MAX_TURNS, checkpoint);
+    assertTrue(resumed.resume());
+    resumed.run();
+
+    double ratingSum = 0;
+    for (int i = 0; i < species.size(); i++) {
+      assertEquals(uninterrupted.getRating(i), resumed.getRating(i), 1e-9);
+      assertEquals(6 * 2, resumed.getGames(i));
+      ratingSum += resumed.getRating(i);
+    }
+    // Elo je igra nultog zbroja: ukupni rejting se ne mijenja.
+    assertEquals(species.size() * TournamentRunner.INITIAL_RATING, ratingSum, 1e-6);
+  }
+
+  @Test
+  @DisplayName("Testira da se checkpoint drugog turnira ne učitava")
+  void checkpointOfAnotherTournamentIsIgnored() throws IOException {
+    Path checkpoint = Files.createTempDirectory("pokemon").resolve("ladder.tsv.ckpt");
+    new TournamentRunner(MatchupSimulatorTest.species(7), 42, 2, HeadlessBattle.DEFAULT_MAX_TURNS, checkpoint).playBatch();
+
+    assertFalse(new TournamentRunner(MatchupSimulatorTest.species(7), 43, 2, HeadlessBattle.DEFAULT_MAX_TURNS,
+        checkpoint).resume());
+  }
+
+  @Test
+  @DisplayName("Testira da se checkpoint sa neispravnim brojem završenih redova odbacuje")
+  void checkpointWithInvalidRowCountIsRejected() throws IOException {
+    Path checkpoint = Files.createTempDirectory("pokemon").resolve("ladder.tsv.ckpt");
+    new TournamentRunner(MatchupSimulatorTest.species(7), 42, 2, HeadlessBattle.DEFAULT_MAX_TURNS, checkpoint).playBatch();
+    byte[] bytes = Files.readAllBytes(checkpoint);
+    ByteBuffer.wrap(bytes).putInt(24, MatchupSimulatorTest.species(7).size() + 1); // MAGIC, VERSION, seed, serija, n
+    Files.write(checkpoint, bytes);
+
+    assertThrows(IOException.class, () -> new TournamentRunner(MatchupSimulatorTest.species(7), 42, 2,
+        HeadlessBattle.DEFAULT_MAX_TURNS, checkpoint).resume());
+  }
+
+  @Test
+  @DisplayName("Testira da rejtinzi ne ovise o veličini serije, jer se ažuriraju borbu po borbu")
+  void ratingsDoNotDependOnBatchSize() throws IOException {
+    List<PokemonSpecies> species = MatchupSimulatorTest.species(7);
+    TournamentRunner rowByRow = new TournamentRunner(species, 42, 1,
+        HeadlessBattle.DEFAULT_MAX_TURNS, null);
+    rowByRow.run();
+    TournamentRunner singleBatch = new TournamentRunner(species, 42, species.size(),
+        HeadlessBattle.DEFAULT_MAX_TURNS, null);
+    singleBatch.run();
+
+    for (int i = 0; i < species.size(); i++) {
+      assertEquals(rowByRow.getRating(i), singleBatch.getRating(i), 1e-9);
+    }
+  }
+}
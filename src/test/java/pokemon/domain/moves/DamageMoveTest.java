@@ -37,13 +37,58 @@ class DamageMoveTest {
   @DisplayName("Testira da li napadačka vještina čini očekivanu količinu štete (smanjenje HP-a za 20 u ovom slučaju)," +
           " i da li vraća očekivanu poruku")
   void useDamageMoveDealsCorrectDamageAmountAndReturnsCorrectString() {
+    target = new Pokemon(123, "Rattata", 600, 600, PokemonType.NORMAL,
+        new PokemonSpecies(19, "Rattata", PokemonType.NORMAL, 30,
+            "https://img.pokemondb.net/sprites/sword-shield/icon/rattata.png"),
+        new ArrayList<>());
+
+    assertEquals("Vulpix used testMove. Rattata takes 20 damage!", testMove.use(player, target));
+    assertEquals(580, target.getHealth());
+  }
+
+  @Test
+  @DisplayName("Testira da li napadačka vještina čini pola štete protiv otpornog tipa Pokemona," +
+          " i da li vraća očekivanu poruku")
+  void useDamageMoveDealsHalfAgainstResistantTypeAndReturnsCorrectString() {
     target = new Pokemon(123, "Squirtle", 600, 600, PokemonType.WATER,
         new PokemonSpecies(7, "Squirtle", PokemonType.WATER, 44,
             "https://img.pokemondb.net/sprites/sword-shield/icon/squirtle.png"),
         new ArrayList<>());
 
-    assertEquals("Vulpix used testMove. Squirtle takes 20 damage!", testMove.use(player, target));
-    assertEquals(580, target.getHealth());
+    assertEquals("Vulpix used testMove. Squirtle takes 10 damage!\nIt's not very effective...",
+        testMove.use(player, target));
+    assertEquals(590, target.getHealth());
+  }
+
+  @Test
+  @DisplayName("Testira da napadačka vještina ne čini štetu protiv imunog tipa Pokemona," +
+          " i da li vraća očekivanu poruku")
+  void useDamageMoveDealsNoDamageAgainstImmuneTypeAndReturnsCorrectString() {
+    DamageMove normalMove = new DamageMove() {
+
+      @Override
+      protected int getDamageAmount() {
+        return 20;
+      }
+
+      @Override
+      protected PokemonType getDamageType() {
+        return PokemonType.NORMAL;
+      }
+
+      @Override
+      public String getName() {
+        return "normalMove";
+      }
+    };
+    target = new Pokemon(123, "Gastly", 600, 600, PokemonType.GHOST,
+        new PokemonSpecies(92, "Gastly", PokemonType.GHOST, 30,
+            "https://img.pokemondb.net/sprites/sword-shield/icon/gastly.png"),
+        new ArrayList<>());
+
+    assertEquals("Vulpix used normalMove. Gastly takes 0 damage!\nIt had no effect...",
+        normalMove.use(player, target));
+    assertEquals(600, target.getHealth());
   }
 
   @Test
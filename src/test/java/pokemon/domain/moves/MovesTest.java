@@ -0,0 +1,35 @@
+package pokemon.domain.moves;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MovesTest {
+
+  @Test
+  @DisplayName("Testira da se vještina pronalazi po nazivu i po kodu, uvijek kao ista instanca")
+  void lookupReturnsSharedInstance() {
+    Move takeDown = Moves.byName("Take Down");
+
+    assertTrue(takeDown instanceof TakeDown);
+    assertSame(takeDown, Moves.byName("Take Down"));
+    assertSame(takeDown, Moves.byCode(Moves.codeOf(takeDown)));
+    assertSame(takeDown, Moves.TAKE_DOWN.getMove());
+    assertNull(Moves.byName("Hyper Beam"));
+  }
+
+  @Test
+  @DisplayName("Testira da svaka vještina ima jedinstven kod, te da se nepostojeći kod odbacuje")
+  void codesAreCompact() {
+    for (int code = 0; code < Moves.count(); code++) {
+      assertEquals(code, Moves.codeOf(Moves.byCode(code)));
+    }
+    assertEquals(Moves.codeOf(Moves.byName("Ember")), Moves.codeOf(new Ember()));
+    assertThrows(IllegalArgumentException.class, () -> Moves.byCode(Moves.count()));
+  }
+}
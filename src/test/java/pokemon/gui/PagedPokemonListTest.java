@@ -0,0 +1,219 @@
+package pokemon.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokemon.TestPokemonDataStore;
+import pokemon.datastore.AsyncPokemonDataStore;
+import pokemon.datastore.PokemonData;
+import pokemon.datastore.PokemonDataStore;
+import pokemon.datastore.PokemonTransformer;
+import pokemon.domain.Pokemon;
+import pokemon.domain.PokemonSpecies;
+import pokemon.domain.PokemonType;
+
+class PagedPokemonListTest {
+
+  /**
+   * Asinkroni store čije se stranice dohvaćaju tek pozivom completeLoads(), kao da stižu na
+   * JavaFX thread nakon što je ListView završio sa iscrtavanjem.
+   */
+  static class TestAsyncDataStore extends AsyncPokemonDataStore {
+
+    private final List<Runnable> pendingLoads = new ArrayList<>();
+
+    TestAsyncDataStore(PokemonDataStore pokemonDataStore) {
+      super(pokemonDataStore, null, Runnable::run);
+    }
+
+    @Override
+    public CompletableFuture<List<PokemonData>> getPokemonDataPage(int lastId, int offset, int pageSize) {
+      CompletableFuture<List<PokemonData>> page = new CompletableFuture<>();
+      pendingLoads.add(() -> page.complete(getPokemonDataStore().getPokemonDataPage(lastId, offset, pageSize)));
+      return page;
+    }
+
+    private void completeLoads() {
+      while (!pendingLoads.isEmpty()) {
+        pendingLoads.remove(0).run();
+      }
+    }
+  }
+
+  private TestPokemonDataStore pokemonDataStore;
+  private TestAsyncDataStore asyncDataStore;
+  private PokemonTransformer pokemonTransformer;
+
+  @BeforeEach
+  void setUp() {
+    pokemonDataStore = new TestPokemonDataStore();
+    for (int id = 1; id <= 10; id++) {
+      put(id, 20);
+    }
+    asyncDataStore = new TestAsyncDataStore(pokemonDataStore);
+    TreeMap<Integer, PokemonSpecies> species = new TreeMap<>();
+    species.put(4, new PokemonSpecies(4, "Charmander", PokemonType.FIRE, 39, ""));
+    pokemonTransformer = new PokemonTransformer(() -> species);
+  }
+
+  private void put(int id, int health) {
+    pokemonDataStore.put(new PokemonData(id, "Pokemon" + id, health, 39, 4, new ArrayList<>()));
+  }
+
+  /**
+   * Vraća Pokemona na datom indeksu; ako njegova stranica nije u memoriji, čeka da stigne.
+   */
+  private Pokemon get(PagedPokemonList pokemonList, int index) {
+    if (pokemonList.get(index) == null) {
+      asyncDataStore.completeLoads();
+    }
+    return pokemonList.get(index);
+  }
+
+  private List<Integer> ids(PagedPokemonList pokemonList) {
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 0; i < pokemonList.size(); i++) {
+      ids.add(get(pokemonList, i).getId());
+    }
+    return ids;
+  }
+
+  private static List<Integer> range(int from, int to) {
+    List<Integer> range = new ArrayList<>();
+    for (int id = from; id <= to; id++) {
+      range.add(id);
+    }
+    return range;
+  }
+
+  @Test
+  @DisplayName("Dok stranica ne stigne, get() vraća null, a kad stigne, lista javlja zamjenu njenih elemenata")
+  void testArrivingPageReplacesPlaceholders() {
+    PagedPokemonList pokemonList = new PagedPokemonList(asyncDataStore, pokemonTransformer, 3);
+    List<Integer> replaced = new ArrayList<>();
+    pokemonList.addListener((ListChangeListener<Pokemon>) change -> {
+      while (change.next()) {
+        assertTrue(change.wasReplaced());
+        for (int i = change.getFrom(); i < change.getTo(); i++) {
+          replaced.add(i);
+        }
+      }
+    });
+
+    assertNull(pokemonList.get(4));
+    assertNull(pokemonList.get(5));
+    assertEquals(1, asyncDataStore.pendingLoads.size());
+    assertTrue(replaced.isEmpty());
+
+    asyncDataStore.completeLoads();
+    assertEquals(Arrays.asList(3, 4, 5), replaced);
+    assertEquals(5, pokemonList.get(4).getId());
+  }
+
+  @Test
+  @DisplayName("Stranica daleko od početka liste dohvaća se jednim upitom, bez stranica između")
+  void testDistantPageIsLoadedWithOneQuery() {
+    PagedPokemonList pokemonList = new PagedPokemonList(asyncDataStore, pokemonTransformer, 2);
+
+    assertEquals(10, get(pokemonList, 9).getId());
+    assertEquals(1, pokemonDataStore.getPageRequests().size());
+    assertEquals(6, get(pokemonList, 5).getId());
+    assertEquals(2, pokemonDataStore.getPageRequests().size());
+    assertEquals(range(1, 10), ids(pokemonList));
+  }
+
+  @Test
+  @DisplayName("Novi Pokemon se dodaje na kraj liste")
+  void testAddedPokemonIsAppended() {
+    PagedPokemonList pokemonList = new PagedPokemonList(asyncDataStore, pokemonTransformer, 3);
+    get(pokemonList, 0);
+
+    put(11, 20);
+    pokemonList.pokemonAdded();
+
+    assertEquals(range(1, 11), ids(pokemonList));
+  }
+
+  @Test
+  @DisplayName("Uklanjanje Pokemona sa učitane stranice pomiče ostale Pokemone za jedno mjesto")
+  void testRemovedFromLoadedPage() {
+    PagedPokemonList pokemonList = new PagedPokemonList(asyncDataStore, pokemonTransformer, 3);
+    get(pokemonList, 4); // stranica (3, 6], između neučitanih dijelova (0, 3] i (6, ...)
+
+    pokemonDataStore.remove(5);
+    pokemonList.pokemonRemoved(5);
+
+    assertEquals(9, pokemonList.size());
+    assertEquals(6, pokemonList.get(4).getId());
+    List<Integer> expected = range(1, 10);
+    expected.remove(Integer.valueOf(5));
+    assertEquals(expected, ids(pokemonList));
+  }
+
+  @Test
+  @DisplayName("Uklanjanje Pokemona iz neučitanog dijela i sa izbačene stranice ispravno smanjuje listu")
+  void testRemovedFromUnknownAndEvictedPages() {
+    PagedPokemonList pokemonList = new PagedPokemonList(asyncDataStore, pokemonTransformer, 1);
+    for (int i = 0; i < 9; i++) {
+      get(pokemonList, i); // prve stranice se izbacuju iz memorije
+    }
+    assertFalse(pokemonList.isLoaded(1));
+
+    pokemonDataStore.remove(1);
+    pokemonList.pokemonRemoved(1);
+    pokemonDataStore.remove(10);
+    pokemonList.pokemonRemoved(10);
+
+    assertEquals(range(2, 9), ids(pokemonList));
+  }
+
+  @Test
+  @DisplayName("Izmijenjeni Pokemon se zamjenjuje na istom indeksu")
+  void testUpdatedPokemonIsReplacedInPlace() {
+    PagedPokemonList pokemonList = new PagedPokemonList(asyncDataStore, pokemonTransformer, 3);
+    get(pokemonList, 4);
+
+    put(5, 39);
+    pokemonDataStore.getPokemonCache().invalidate(5);
+    pokemonList.pokemonUpdated(pokemonDataStore.get(5), pokemonDataStore.getPokemonCache().stamp());
+
+    assertEquals(5, pokemonList.get(4).getId());
+    assertEquals(39, pokemonList.get(4).getHealth());
+    assertEquals(range(1, 10), ids(pokemonList));
+  }
+
+  @Test
+  @DisplayName("Pokemoni izbrisani mimo obavijesti uklanjaju se iz liste kada stigne njihova stranica")
+  void testRowsDeletedWithoutNotificationShrinkTheList() {
+    PagedPokemonList pokemonList = new PagedPokemonList(asyncDataStore, pokemonTransformer, 1);
+    for (int i = 0; i < 9; i++) {
+      get(pokemonList, i);
+    }
+
+    pokemonDataStore.remove(1); // stranica (0, 1] nije u memoriji
+    pokemonDataStore.remove(10); // dio (9, ...) još nije učitan
+
+    // get() ne mijenja listu: lista se smanjuje tek kada stigne kraća stranica.
+    assertNull(pokemonList.get(0));
+    assertNull(pokemonList.get(0));
+    assertEquals(10, pokemonList.size());
+    asyncDataStore.completeLoads();
+    assertEquals(9, pokemonList.size());
+    assertNull(pokemonList.get(8));
+    assertEquals(9, pokemonList.size());
+    asyncDataStore.completeLoads();
+    assertEquals(8, pokemonList.size());
+    assertEquals(range(2, 9), ids(pokemonList));
+  }
+}